@@ -0,0 +1,84 @@
+package com.zematix.jworldcup.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.zematix.jworldcup.backend.entity.Group;
+import com.zematix.jworldcup.backend.entity.Team;
+import com.zematix.jworldcup.backend.model.GroupTeam;
+import com.zematix.jworldcup.backend.service.GroupTeamService;
+
+/**
+ * Benchmarks of {@link GroupTeamService#sortGroupTeams(List)} and the statistics 
+ * getters of {@link GroupTeam} on all groups of a {@link SyntheticTournament}.
+ * Sorting is executed on a fresh copy of the group teams at each invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroupStandingsBenchmark {
+
+	@Param({"32", "48"})
+	private int numberOfTeams;
+
+	private GroupTeamService groupTeamService;
+
+	private List<List<GroupTeam>> groupTeamsByGroup;
+
+	private List<List<GroupTeam>> sortableGroupTeamsByGroup;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		groupTeamService = new GroupTeamService();
+		SyntheticTournament tournament = new SyntheticTournament(numberOfTeams, 42);
+		groupTeamsByGroup = new ArrayList<>();
+		for (Group group : tournament.getGroups()) {
+			List<GroupTeam> groupTeams = new ArrayList<>();
+			for (Team team : group.getTeams()) {
+				groupTeams.add(new GroupTeam(team, tournament.getMatchesByTeam(team)));
+			}
+			groupTeamsByGroup.add(groupTeams);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpInvocation() {
+		sortableGroupTeamsByGroup = new ArrayList<>(groupTeamsByGroup.size());
+		for (List<GroupTeam> groupTeams : groupTeamsByGroup) {
+			sortableGroupTeamsByGroup.add(new ArrayList<>(groupTeams));
+		}
+	}
+
+	@Benchmark
+	public boolean sortGroupTeams() {
+		boolean hasEqualRankings = false;
+		for (List<GroupTeam> groupTeams : sortableGroupTeamsByGroup) {
+			hasEqualRankings |= groupTeamService.sortGroupTeams(groupTeams);
+		}
+		return hasEqualRankings;
+	}
+
+	@Benchmark
+	public long groupTeamGetters() {
+		long total = 0;
+		for (List<GroupTeam> groupTeams : groupTeamsByGroup) {
+			for (GroupTeam groupTeam : groupTeams) {
+				total += groupTeam.getMatchesPlayed() + groupTeam.getWon() + groupTeam.getDraw() 
+						+ groupTeam.getLost() + groupTeam.getGoalsFor() + groupTeam.getGoalsAgainst()
+						+ groupTeam.getGoalDifference() + groupTeam.getPoints();
+			}
+		}
+		return total;
+	}
+}
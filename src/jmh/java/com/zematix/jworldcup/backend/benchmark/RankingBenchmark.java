@@ -0,0 +1,73 @@
+package com.zematix.jworldcup.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.zematix.jworldcup.backend.model.UserPosition;
+import com.zematix.jworldcup.backend.util.RankingUtil;
+
+/**
+ * Benchmarks of {@link RankingUtil} on leaderboard sized lists of {@link UserPosition}
+ * elements. Scores are drawn from a narrow range, like in a real tournament, so there
+ * are many ties.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankingBenchmark {
+
+	private static final Comparator<UserPosition> COMPARATOR = (a, b) -> -1*Integer.valueOf(a.getScore()).compareTo(b.getScore());
+
+	@Param({"10000", "100000"})
+	private int numberOfUsers;
+
+	private List<UserPosition> shuffledUserPositions;
+
+	private List<UserPosition> sortedUserPositions;
+
+	private List<UserPosition> userPositions;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		Random random = new Random(42);
+		shuffledUserPositions = new ArrayList<>(numberOfUsers);
+		for (int i = 0; i < numberOfUsers; i++) {
+			UserPosition userPosition = new UserPosition();
+			userPosition.setUserId((long) i);
+			userPosition.setScore(random.nextInt(250));
+			shuffledUserPositions.add(userPosition);
+		}
+		sortedUserPositions = new ArrayList<>(shuffledUserPositions);
+		sortedUserPositions.sort(COMPARATOR);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpInvocation() {
+		userPositions = new ArrayList<>(shuffledUserPositions);
+	}
+
+	@Benchmark
+	public List<UserPosition> sortAndRank() {
+		RankingUtil.sortAndRank(userPositions, COMPARATOR, UserPosition::setPosition);
+		return userPositions;
+	}
+
+	@Benchmark
+	public List<UserPosition> rankSorted() {
+		RankingUtil.rank(sortedUserPositions, COMPARATOR, UserPosition::setPosition);
+		return sortedUserPositions;
+	}
+}
@@ -0,0 +1,97 @@
+package com.zematix.jworldcup.backend.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.service.MatchService;
+
+/**
+ * Benchmarks of {@link MatchService#getScore(Long, Long, Long, Byte, Byte, Byte, Byte)} 
+ * and {@link MatchService#getMatchResult(int, Byte, Byte, Byte, Byte, Byte, Byte)} where
+ * all bettors have a bet on each finished group match of a {@link SyntheticTournament}.
+ * Both methods are pure, so a {@link MatchService} instance is created without Spring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScoringBenchmark {
+
+	@Param({"32", "48"})
+	private int numberOfTeams;
+
+	@Param({"1000", "10000", "100000"})
+	private int numberOfBettors;
+
+	private MatchService matchService;
+
+	private List<Match> matches;
+
+	/**
+	 * Bet goals of the bettors, 2 bytes per bettor and match.
+	 */
+	private byte[] betGoals;
+
+	/**
+	 * Favourite team id of the bettors.
+	 */
+	private long[] favouriteTeamIds;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		matchService = new MatchService();
+		SyntheticTournament tournament = new SyntheticTournament(numberOfTeams, 42);
+		matches = tournament.getMatches();
+
+		Random random = new Random(42);
+		betGoals = new byte[numberOfBettors * matches.size() * 2];
+		for (int i = 0; i < betGoals.length; i++) {
+			betGoals[i] = (byte) random.nextInt(4);
+		}
+		favouriteTeamIds = new long[numberOfBettors];
+		for (int i = 0; i < numberOfBettors; i++) {
+			favouriteTeamIds[i] = 1L + random.nextInt(numberOfTeams);
+		}
+	}
+
+	@Benchmark
+	public long getScore() {
+		long total = 0;
+		int index = 0;
+		for (int b = 0; b < numberOfBettors; b++) {
+			Long favouriteTeamId = favouriteTeamIds[b];
+			for (Match match : matches) {
+				total += matchService.getScore(favouriteTeamId, match.getTeam1().getTeamId(), 
+						match.getTeam2().getTeamId(), match.getGoalNormalByTeam1(), 
+						match.getGoalNormalByTeam2(), betGoals[index], betGoals[index + 1]);
+				index += 2;
+			}
+		}
+		return total;
+	}
+
+	@Benchmark
+	public long getMatchResult() {
+		long total = 0;
+		for (int b = 0; b < numberOfBettors; b++) {
+			for (Match match : matches) {
+				total += matchService.getMatchResult(1 + (b & 1), match.getGoalNormalByTeam1(), 
+						match.getGoalExtraByTeam1(), match.getGoalPenaltyByTeam1(), 
+						match.getGoalNormalByTeam2(), match.getGoalExtraByTeam2(), 
+						match.getGoalPenaltyByTeam2());
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,100 @@
+package com.zematix.jworldcup.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.zematix.jworldcup.backend.entity.Event;
+import com.zematix.jworldcup.backend.entity.Group;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.entity.Team;
+
+/**
+ * Synthetic tournament of benchmarks without database. Teams are divided into groups 
+ * of 4 teams, like in a 32 or 48 team format world cup, and all group matches are 
+ * finished with random results. The same seed always produces the same tournament.
+ */
+public class SyntheticTournament {
+
+	private static final int TEAMS_IN_GROUP = 4;
+
+	private final Event event;
+
+	private final List<Group> groups = new ArrayList<>();
+
+	private final List<Match> matches = new ArrayList<>();
+
+	/**
+	 * @param numberOfTeams - it must be divisible by 4, e.g. 32 or 48
+	 * @param seed - seed of the random match results
+	 */
+	public SyntheticTournament(int numberOfTeams, long seed) {
+		Random random = new Random(seed);
+		event = new Event();
+		event.setEventId(1L);
+		event.setShortDesc("WC");
+		event.setYear((short) 2026);
+		event.setTiebreaker((short) 1);
+
+		long teamId = 1L;
+		long matchId = 1L;
+		for (int g = 0; g < numberOfTeams / TEAMS_IN_GROUP; g++) {
+			Group group = new Group();
+			group.setGroupId((long) g + 1);
+			group.setName(String.valueOf((char) ('A' + g)));
+			group.setEvent(event);
+			group.setTeams(new ArrayList<>());
+			for (int t = 0; t < TEAMS_IN_GROUP; t++) {
+				Team team = new Team();
+				team.setTeamId(teamId++);
+				team.setName(group.getName() + (t + 1));
+				team.setEvent(event);
+				group.addTeam(team);
+			}
+			// round robin inside the group
+			List<Team> teams = group.getTeams();
+			for (int i = 0; i < teams.size(); i++) {
+				for (int j = i + 1; j < teams.size(); j++) {
+					Match match = new Match();
+					match.setMatchId(matchId);
+					match.setMatchN((short) matchId);
+					matchId++;
+					match.setEvent(event);
+					match.setTeam1(teams.get(i));
+					match.setTeam2(teams.get(j));
+					match.setGoalNormalByTeam1((byte) random.nextInt(4));
+					match.setGoalNormalByTeam2((byte) random.nextInt(4));
+					matches.add(match);
+				}
+			}
+			groups.add(group);
+		}
+	}
+
+	public Event getEvent() {
+		return event;
+	}
+
+	public List<Group> getGroups() {
+		return groups;
+	}
+
+	/**
+	 * @return finished group matches of all groups
+	 */
+	public List<Match> getMatches() {
+		return matches;
+	}
+
+	/**
+	 * Returns finished group matches played by the given team.
+	 * 
+	 * @param team
+	 * @return played matches of the team
+	 */
+	public List<Match> getMatchesByTeam(Team team) {
+		return matches.stream()
+				.filter(m -> m.getTeam1() == team || m.getTeam2() == team)
+				.toList();
+	}
+}
@@ -0,0 +1,47 @@
+package com.zematix.jworldcup.backend.configuration;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing versions of cache entries by cache name and key. A version
+ * is incremented whenever its entry is removed or replaced in the cache, so an unchanged
+ * version means the cached value has not been changed since. Versions start at 0 at
+ * every application start, callers should combine them with {@link #getEpoch()}.
+ */
+public class CacheEntryVersions {
+
+	private final long epoch = System.currentTimeMillis();
+
+	private final ConcurrentMap<String, ConcurrentMap<Object, AtomicLong>> versionsByCacheName = new ConcurrentHashMap<>();
+
+	/**
+	 * @return start time of the versioning in milliseconds
+	 */
+	public long getEpoch() {
+		return epoch;
+	}
+
+	/**
+	 * Increments the version of the given cache entry.
+	 * 
+	 * @param cacheName
+	 * @param key - key of the removed or replaced entry
+	 */
+	public void increment(String cacheName, Object key) {
+		versionsByCacheName.computeIfAbsent(cacheName, k -> new ConcurrentHashMap<>())
+				.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+	}
+
+	/**
+	 * @param cacheName
+	 * @param key
+	 * @return actual version of the given cache entry, it is 0 if it has never been changed
+	 */
+	public long getVersion(String cacheName, Object key) {
+		ConcurrentMap<Object, AtomicLong> versions = versionsByCacheName.get(cacheName);
+		AtomicLong version = versions != null ? versions.get(key) : null;
+		return version != null ? version.get() : 0L;
+	}
+}
@@ -0,0 +1,95 @@
+package com.zematix.jworldcup.backend.configuration;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.inject.Inject;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zematix.jworldcup.backend.service.ApplicationService;
+
+import lombok.Value;
+
+/**
+ * Actuator endpoint to inspect the hit ratio, evictions and size of each Caffeine cache,
+ * both of the Spring caches of {@link CachingConfig#cacheManager} and of the caches of 
+ * {@link ApplicationService}. Like the other exposed actuator endpoints it requires
+ * authentication.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+
+	private static final String CACHE_MANAGER = "cacheManager";
+	private static final String APPLICATION_SERVICE = "applicationService";
+
+	@Inject
+	private CacheManager cacheManager;
+
+	@Inject
+	private ApplicationService applicationService;
+
+	/**
+	 * @return statistics of all caches sorted by cache name
+	 */
+	@ReadOperation
+	public Map<String, CacheStatistics> cacheStatistics() {
+		Map<String, CacheStatistics> cacheStatisticsByName = new TreeMap<>();
+		for (String cacheName : cacheManager.getCacheNames()) {
+			Cache<?, ?> cache = getNativeCache(cacheName);
+			if (cache != null) {
+				cacheStatisticsByName.put(cacheName, createCacheStatistics(CACHE_MANAGER, cache));
+			}
+		}
+		applicationService.getCachesByName().forEach((cacheName, cache) -> 
+				cacheStatisticsByName.put(cacheName, createCacheStatistics(APPLICATION_SERVICE, cache)));
+		return cacheStatisticsByName;
+	}
+
+	/**
+	 * @param cacheName
+	 * @return statistics of the given cache or {@code null} if it does not exist
+	 */
+	@ReadOperation
+	public CacheStatistics cacheStatistics(@Selector String cacheName) {
+		Cache<?, ?> cache = getNativeCache(cacheName);
+		if (cache != null) {
+			return createCacheStatistics(CACHE_MANAGER, cache);
+		}
+		cache = applicationService.getCachesByName().get(cacheName);
+		return cache != null ? createCacheStatistics(APPLICATION_SERVICE, cache) : null;
+	}
+
+	private Cache<?, ?> getNativeCache(String cacheName) {
+		return cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+	}
+
+	private CacheStatistics createCacheStatistics(String owner, Cache<?, ?> cache) {
+		CacheStats stats = cache.stats();
+		return new CacheStatistics(owner, cache.estimatedSize(), stats.hitCount(), stats.missCount(), 
+				stats.hitRate(), stats.evictionCount(), stats.loadFailureCount(), stats.averageLoadPenalty());
+	}
+
+	/**
+	 * Statistics of a cache, the counters are cumulative since the creation of the cache.
+	 */
+	@Value
+	public static class CacheStatistics {
+		String owner;
+		long estimatedSize;
+		long hitCount;
+		long missCount;
+		double hitRatio;
+		long evictionCount;
+		long loadFailureCount;
+		double averageLoadPenaltyNanos;
+	}
+}
@@ -1,15 +1,32 @@
 package com.zematix.jworldcup.backend.configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caffeine based {@link CacheManager} of the Spring caches. Each cache is built from its own
+ * {@link CaffeineSpec} given by {@code app.cache.specs.<cacheName>} property, missing ones fall
+ * back to {@code app.cache.defaultSpec}. Statistics are always recorded, so they are exported
+ * as {@code cache.*} metrics and by {@link CacheStatisticsEndpoint}.
+ */
 @Configuration
 @EnableCaching
 public class CachingConfig {
@@ -22,23 +39,69 @@ public class CachingConfig {
 	public static final String CACHE_FAVOURITE_GROUP_TEAMS = "favouriteGroupTeams";
 	public static final String CACHE_FAVOURITE_KNOCKOUT_TEAMS = "favouriteKnockoutTeams";
 	public static final String CACHE_TIMEZONE_IDS = "timeZoneIds";
-	public static final String CACHE_DICTIONARY_BY_KEY = "dicitonaryByKey";
-	public static final String CACHE_DICTIONARY_BY_KEY_AND_VALUE = "dicitonaryByKeyandValue";
+
+	// caches of ApplicationService, they are not managed by cacheManager
+	public static final String CACHE_EVENT_IDS = "eventIds";
+	public static final String CACHE_EVENT_COMPLETION_PERCENT = "eventCompletionPercent";
+	public static final String CACHE_MAXIMUM_SCORE_BY_EVENT = "maximumScoreByEvent";
+	public static final String CACHE_TOP_USERS = "topUsers";
+	public static final String CACHE_TOP_USERS_BY_EVENT = "topUsersByEvent";
+	public static final String CACHE_RETRIEVE_MATCH_RESULTS_JOB_TRIGGER_START_TIMES = "retrieveMatchResultsJobTriggerStartTimes";
+	public static final String CACHE_CHATS_BY_USER_GROUP = "chatsByUserGroup";
+	public static final String CACHE_LAST_APPEARANCE_BY_USER = "lastAppearanceByUser";
+
+	public static final List<String> CACHE_MANAGER_CACHE_NAMES = List.of(
+			CACHE_USER_BY_LOGIN_NAME, CACHE_USER_OF_EVENT, CACHE_USER_GROUPS, 
+			CACHE_EVENT_START_TIME, CACHE_EVENT_KNOCKOUT_START_TIME, CACHE_EVENT_END_TIME,
+			CACHE_FAVOURITE_GROUP_TEAMS, CACHE_FAVOURITE_KNOCKOUT_TEAMS,
+			CACHE_TIMEZONE_IDS);
+
+	/**
+	 * Entries of these caches are versioned by {@link CacheEntryVersions}, it is used
+	 * by the session data fingerprints.
+	 */
+	public static final List<String> VERSIONED_CACHE_NAMES = List.of(CACHE_USER_BY_LOGIN_NAME, CACHE_USER_GROUPS);
+
+	@Value("${app.cache.defaultSpec:initialCapacity=200,maximumSize=500,expireAfterAccess=5m}")
+	private String defaultSpec;
 
     @Bean
-    CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-        		CACHE_USER_BY_LOGIN_NAME, CACHE_USER_OF_EVENT, CACHE_USER_GROUPS, 
-        		CACHE_EVENT_START_TIME, CACHE_EVENT_KNOCKOUT_START_TIME, CACHE_EVENT_END_TIME,
-        		CACHE_FAVOURITE_GROUP_TEAMS, CACHE_FAVOURITE_KNOCKOUT_TEAMS,
-        		CACHE_TIMEZONE_IDS, CACHE_DICTIONARY_BY_KEY, CACHE_DICTIONARY_BY_KEY_AND_VALUE
-        );
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-          .initialCapacity(200)
-          .maximumSize(500)
-          .expireAfterAccess(5, TimeUnit.MINUTES)
-//          .weakKeys() // resulting cache will use identity (==) comparison to determine equality of keys similar to IdentityHashMap
-          .recordStats());
+    CacheEntryVersions cacheEntryVersions() {
+    	return new CacheEntryVersions();
+    }
+
+    @Bean
+    CacheManager cacheManager(Environment environment, MeterRegistry meterRegistry, CacheEntryVersions cacheEntryVersions) {
+        // relaxed binding may change the case of the keys
+        Map<String, String> specsByCacheName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        specsByCacheName.putAll(Binder.get(environment)
+        		.bind("app.cache.specs", Bindable.mapOf(String.class, String.class))
+        		.orElse(Collections.emptyMap()));
+
+        // concurrent misses of @Cacheable(sync = true) methods are coalesced and counted
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+        	@Override
+        	protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+        		return new CoalescingCaffeineCache(name, cache, isAllowNullValues(), meterRegistry);
+        	}
+        };
+        // static mode, unknown cache names are not created on the fly
+        cacheManager.setCacheNames(Collections.emptyList());
+        for (String cacheName : CACHE_MANAGER_CACHE_NAMES) {
+        	String spec = specsByCacheName.getOrDefault(cacheName, defaultSpec);
+        	// weakKeys() must not be used, resulting cache would use identity (==) comparison of keys similar to IdentityHashMap
+        	Caffeine<Object, Object> caffeine = Caffeine.from(spec).recordStats();
+        	if (VERSIONED_CACHE_NAMES.contains(cacheName)) {
+        		// synchronous listener, the version is incremented before the eviction returns
+        		caffeine.executor(Runnable::run)
+        				.removalListener((key, value, cause) -> {
+        					if (key != null) {
+        						cacheEntryVersions.increment(cacheName, key);
+        					}
+        				});
+        	}
+        	cacheManager.registerCustomCache(cacheName, caffeine.build());
+        }
         return cacheManager;
     }
 }
@@ -0,0 +1,63 @@
+package com.zematix.jworldcup.backend.configuration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link CaffeineCache} which counts the coalesced loads. A {@code @Cacheable(sync = true)}
+ * method is loaded by {@link #get(Object, Callable)}, where Caffeine lets only one caller 
+ * compute the missing value of a key, the concurrent callers of the same key wait for its 
+ * result. Such a caller found the key absent but its own loader was not invoked, it is 
+ * counted as {@code app.cache.coalesced.loads} metric tagged by the cache name.
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+	private final Counter coalescedLoads;
+
+	/**
+	 * @param name - name of the cache
+	 * @param cache - backing native Caffeine cache
+	 * @param allowNullValues - whether to accept and convert {@code null} values
+	 * @param meterRegistry - registry of the coalesced loads counter
+	 */
+	public CoalescingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues, MeterRegistry meterRegistry) {
+		super(name, cache, allowNullValues);
+		this.coalescedLoads = createCoalescedLoadsCounter(meterRegistry, name);
+	}
+
+	/**
+	 * Creates the counter of the coalesced loads of the given cache.
+	 * 
+	 * @param meterRegistry
+	 * @param cacheName
+	 * @return registered counter
+	 */
+	public static Counter createCoalescedLoadsCounter(MeterRegistry meterRegistry, String cacheName) {
+		return Counter.builder("app.cache.coalesced.loads")
+				.description("Cache misses served by the concurrent load of another caller")
+				.tag("cache", cacheName)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		// quiet lookup does not affect statistics
+		boolean isAbsent = getNativeCache().policy().getIfPresentQuietly(key) == null;
+		AtomicBoolean isLoaded = new AtomicBoolean();
+		T value = super.get(key, () -> {
+			isLoaded.set(true);
+			return valueLoader.call();
+		});
+		if (isAbsent && !isLoaded.get()) {
+			coalescedLoads.increment();
+		}
+		return value;
+	}
+}
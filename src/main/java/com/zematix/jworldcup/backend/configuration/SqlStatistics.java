@@ -0,0 +1,67 @@
+package com.zematix.jworldcup.backend.configuration;
+
+/**
+ * Sql statistics of a single http request collected by the Hibernate hooks
+ * of {@link SqlStatisticsConfig}. Instances are bound to the thread serving 
+ * the request by {@link SqlStatisticsFilter}, statements executed on other 
+ * threads, e.g. in asynchron methods, are not counted.
+ */
+public class SqlStatistics {
+
+	private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+	private int statementCount;
+
+	private long jdbcTimeNanos;
+
+	private int entityLoadCount;
+
+	/**
+	 * Binds a new instance to the current thread.
+	 * 
+	 * @return bound instance
+	 */
+	public static SqlStatistics begin() {
+		SqlStatistics sqlStatistics = new SqlStatistics();
+		CURRENT.set(sqlStatistics);
+		return sqlStatistics;
+	}
+
+	/**
+	 * Unbinds the instance from the current thread.
+	 */
+	public static void end() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * @return instance bound to the current thread or {@code null} if there is none
+	 */
+	public static SqlStatistics current() {
+		return CURRENT.get();
+	}
+
+	public int getStatementCount() {
+		return statementCount;
+	}
+
+	public void incrementStatementCount() {
+		statementCount++;
+	}
+
+	public long getJdbcTimeNanos() {
+		return jdbcTimeNanos;
+	}
+
+	public void addJdbcTimeNanos(long nanos) {
+		jdbcTimeNanos += nanos;
+	}
+
+	public int getEntityLoadCount() {
+		return entityLoadCount;
+	}
+
+	public void incrementEntityLoadCount() {
+		entityLoadCount++;
+	}
+}
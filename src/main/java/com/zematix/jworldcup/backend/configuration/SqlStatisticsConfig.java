@@ -0,0 +1,135 @@
+package com.zematix.jworldcup.backend.configuration;
+
+import java.util.List;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers Hibernate hooks which collect statement count, jdbc execution time and 
+ * entity loads into the {@link SqlStatistics} instance bound to the current thread.
+ * The collected values are exported per endpoint by {@link SqlStatisticsFilter}.
+ */
+@Configuration
+public class SqlStatisticsConfig {
+
+	@Value("${app.sql.statistics.enabled:true}")
+	private String appSqlStatisticsEnabled;
+
+	@Bean
+	HibernatePropertiesCustomizer sqlStatisticsHibernatePropertiesCustomizer() {
+		return properties -> {
+			if (!Boolean.valueOf(appSqlStatisticsEnabled)) {
+				return;
+			}
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountInspector());
+			properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimeSessionEventListener.class.getName());
+			properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(new EntityLoadIntegrator()));
+		};
+	}
+
+	/**
+	 * Registers {@link SqlStatisticsFilter} before the security filter chain, so the 
+	 * statements executed during the authentication of the request are collected too.
+	 */
+	@Bean
+	FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilterRegistration(SqlStatisticsFilter sqlStatisticsFilter) {
+		FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(sqlStatisticsFilter);
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+		return registration;
+	}
+
+	/**
+	 * Counts prepared sql statements.
+	 */
+	static class StatementCountInspector implements StatementInspector {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String inspect(String sql) {
+			SqlStatistics sqlStatistics = SqlStatistics.current();
+			if (sqlStatistics != null) {
+				sqlStatistics.incrementStatementCount();
+			}
+			return sql;
+		}
+	}
+
+	/**
+	 * Measures jdbc execution time of statements and batches. Hibernate instantiates
+	 * it for each session, so it must be public with a default constructor.
+	 */
+	public static class JdbcTimeSessionEventListener implements SessionEventListener {
+		private static final long serialVersionUID = 1L;
+
+		private long startNanos;
+
+		@Override
+		public void jdbcExecuteStatementStart() {
+			startNanos = System.nanoTime();
+		}
+
+		@Override
+		public void jdbcExecuteStatementEnd() {
+			addJdbcTime();
+		}
+
+		@Override
+		public void jdbcExecuteBatchStart() {
+			startNanos = System.nanoTime();
+		}
+
+		@Override
+		public void jdbcExecuteBatchEnd() {
+			addJdbcTime();
+		}
+
+		private void addJdbcTime() {
+			SqlStatistics sqlStatistics = SqlStatistics.current();
+			if (sqlStatistics != null) {
+				sqlStatistics.addJdbcTimeNanos(System.nanoTime() - startNanos);
+			}
+		}
+	}
+
+	/**
+	 * Appends a post load listener counting loaded entities.
+	 */
+	static class EntityLoadIntegrator implements Integrator {
+
+		@Override
+		public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+				SessionFactoryImplementor sessionFactory) {
+			PostLoadEventListener listener = (PostLoadEvent event) -> {
+				SqlStatistics sqlStatistics = SqlStatistics.current();
+				if (sqlStatistics != null) {
+					sqlStatistics.incrementEntityLoadCount();
+				}
+			};
+			sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class)
+					.appendListeners(EventType.POST_LOAD, listener);
+		}
+
+		@Override
+		public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+			// nothing to release
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.zematix.jworldcup.backend.configuration;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Collects {@link SqlStatistics} of each http request and exports them as Micrometer 
+ * metrics tagged by the endpoint. The request is logged if its statement count or
+ * jdbc time exceeds the configured threshold. It is executed for any incoming request
+ * before the security filter chain, see {@link SqlStatisticsConfig}.
+ */
+@Component
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+	private static final String UNKNOWN_URI = "UNKNOWN";
+
+	@Inject
+	private MeterRegistry meterRegistry;
+
+	@Value("${app.sql.statistics.enabled:true}")
+	private String appSqlStatisticsEnabled;
+
+	@Value("${app.sql.statistics.threshold.statements:50}")
+	private int appSqlStatisticsThresholdStatements;
+
+	@Value("${app.sql.statistics.threshold.jdbcMillis:500}")
+	private long appSqlStatisticsThresholdJdbcMillis;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !Boolean.valueOf(appSqlStatisticsEnabled);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		SqlStatistics sqlStatistics = SqlStatistics.begin();
+		try {
+			chain.doFilter(request, response);
+		}
+		finally {
+			SqlStatistics.end();
+			record(request, sqlStatistics);
+		}
+	}
+
+	private void record(HttpServletRequest request, SqlStatistics sqlStatistics) {
+		// matched pattern is used as uri tag, it keeps the number of tags bounded
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+		String method = request.getMethod();
+
+		DistributionSummary.builder("app.sql.statements")
+				.description("Number of sql statements executed by a request")
+				.tags("uri", uri, "method", method)
+				.register(meterRegistry)
+				.record(sqlStatistics.getStatementCount());
+		Timer.builder("app.sql.jdbc.time")
+				.description("Jdbc execution time of the sql statements of a request")
+				.tags("uri", uri, "method", method)
+				.register(meterRegistry)
+				.record(sqlStatistics.getJdbcTimeNanos(), TimeUnit.NANOSECONDS);
+		DistributionSummary.builder("app.sql.entity.loads")
+				.description("Number of entities loaded by a request")
+				.tags("uri", uri, "method", method)
+				.register(meterRegistry)
+				.record(sqlStatistics.getEntityLoadCount());
+
+		long jdbcMillis = TimeUnit.NANOSECONDS.toMillis(sqlStatistics.getJdbcTimeNanos());
+		if (sqlStatistics.getStatementCount() > appSqlStatisticsThresholdStatements
+				|| jdbcMillis > appSqlStatisticsThresholdJdbcMillis) {
+			logger.warn(String.format("sql statistics threshold exceeded at %s %s: statements=%d, jdbcMillis=%d, entityLoads=%d",
+					method, request.getRequestURI(), sqlStatistics.getStatementCount(), jdbcMillis,
+					sqlStatistics.getEntityLoadCount()));
+		}
+	}
+}
@@ -28,6 +28,7 @@ import org.springframework.security.web.authentication.logout.HttpStatusReturnin
 import org.springframework.web.cors.CorsConfiguration;
 
 import com.zematix.jworldcup.backend.crypto.MultiCryptPasswordEncoder;
+import com.zematix.jworldcup.backend.emun.RoleEnum;
 import com.zematix.jworldcup.backend.service.SessionLogoutHandler;
 
 /**
@@ -92,6 +93,9 @@ public class WebSecurityConfig {
 		httpSecurity.csrf(AbstractHttpConfigurer::disable)
 				// don't authenticate these particular requests
 				.authorizeHttpRequests(requests -> requests.requestMatchers(ACTUATOR_WHITELIST).permitAll()
+						// actuator endpoints expose internals, only health is public
+						.requestMatchers("/actuator/health").permitAll()
+						.requestMatchers("/actuator/**").hasRole(RoleEnum.ADMIN.name())
 						// but all other requests need to be authenticated
 						.anyRequest().authenticated())
 				.exceptionHandling(handling -> handling.authenticationEntryPoint(jwtAuthenticationEntryPoint))
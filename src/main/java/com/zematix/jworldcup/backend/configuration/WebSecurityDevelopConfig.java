@@ -29,6 +29,7 @@ import org.springframework.security.web.authentication.logout.HttpStatusReturnin
 import org.springframework.web.cors.CorsConfiguration;
 
 import com.zematix.jworldcup.backend.crypto.MultiCryptPasswordEncoder;
+import com.zematix.jworldcup.backend.emun.RoleEnum;
 import com.zematix.jworldcup.backend.service.SessionLogoutHandler;
 
 /**
@@ -95,6 +96,9 @@ public class WebSecurityDevelopConfig {
 						.requestMatchers(Stream.concat(Stream.of(ACTUATOR_WHITELIST), Stream.of(SWAGGER_WHITELIST))
 								.toArray(String[]::new))
 						.permitAll()
+						// actuator endpoints expose internals, only health is public
+						.requestMatchers("/actuator/health").permitAll()
+						.requestMatchers("/actuator/**").hasRole(RoleEnum.ADMIN.name())
 						// but all other requests need to be authenticated
 						.anyRequest().authenticated())
 				.exceptionHandling(handling -> handling.authenticationEntryPoint(jwtAuthenticationEntryPoint))
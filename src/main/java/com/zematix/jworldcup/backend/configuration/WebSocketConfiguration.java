@@ -1,18 +1,42 @@
 package com.zematix.jworldcup.backend.configuration;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration of the STOMP message broker. By default a full featured external RabbitMQ
+ * broker is used through a relay. Setting {@code app.websocket.broker.mode} to {@code embedded}
+ * an in-process simple broker is used instead, which is suitable for single node deployments
+ * and load tests without RabbitMQ. Outbound messages are buffered per websocket session in
+ * both modes, sessions exceeding the buffer or send time limits are closed, such slow
+ * consumers and the dropped outbound messages are exported as metrics.
+ */
 @Profile("!develop")
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
-	
+
+	public static final String BROKER_MODE_RELAY = "relay";
+	public static final String BROKER_MODE_EMBEDDED = "embedded";
+
 	@Value("${rabbitMQ.host}")
 	private String rabbitMQHost;
 
@@ -22,6 +46,39 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
 	@Value("${rabbitMQ.password}")
 	private String rabbitMQPassword;
 
+	@Value("${app.websocket.broker.mode:relay}")
+	private String appWebsocketBrokerMode;
+
+	@Value("${app.websocket.broker.heartbeatMillis:10000}")
+	private long appWebsocketBrokerHeartbeatMillis;
+
+	@Value("${app.websocket.sendBufferSizeLimitBytes:524288}")
+	private int appWebsocketSendBufferSizeLimitBytes;
+
+	@Value("${app.websocket.sendTimeLimitMillis:10000}")
+	private int appWebsocketSendTimeLimitMillis;
+
+	@Value("${app.websocket.messageSizeLimitBytes:65536}")
+	private int appWebsocketMessageSizeLimitBytes;
+
+	@Value("${app.websocket.outbound.poolSize:16}")
+	private int appWebsocketOutboundPoolSize;
+
+	@Value("${app.websocket.outbound.queueCapacity:10000}")
+	private int appWebsocketOutboundQueueCapacity;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Scheduler of the heartbeats of the embedded broker, it is created by the
+	 * message broker configuration itself, hence it must be injected lazily.
+	 */
+	@Lazy
+	@Autowired
+	@Qualifier("messageBrokerTaskScheduler")
+	private TaskScheduler messageBrokerTaskScheduler;
+
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
 		registry.addEndpoint("/ws")
@@ -34,6 +91,14 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
 	public void configureMessageBroker(MessageBrokerRegistry registry) {
 		registry.setApplicationDestinationPrefixes("/app");
 
+		if (BROKER_MODE_EMBEDDED.equalsIgnoreCase(appWebsocketBrokerMode)) {
+			// Enables an in-process simple broker
+			registry.enableSimpleBroker("/topic", "/queue")
+					.setHeartbeatValue(new long[] {appWebsocketBrokerHeartbeatMillis, appWebsocketBrokerHeartbeatMillis})
+					.setTaskScheduler(messageBrokerTaskScheduler);
+			return;
+		}
+
 		// Enables a full featured RabbitMQ broker
         registry.enableStompBrokerRelay("/topic", "/queue")
                 .setRelayHost(rabbitMQHost)
@@ -41,6 +106,51 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
                 .setClientLogin(rabbitMQUser)
                 .setClientPasscode(rabbitMQPassword)
                 .setSystemLogin(rabbitMQUser)
-                .setSystemPasscode(rabbitMQPassword);
+                .setSystemPasscode(rabbitMQPassword)
+                .setSystemHeartbeatSendInterval(appWebsocketBrokerHeartbeatMillis)
+                .setSystemHeartbeatReceiveInterval(appWebsocketBrokerHeartbeatMillis);
+	}
+
+	/**
+	 * Bounds the outbound buffer and send time of each websocket session. A session exceeding
+	 * any of the limits is closed by {@link CloseStatus#SESSION_NOT_RELIABLE}, it is counted
+	 * as slow consumer.
+	 */
+	@Override
+	public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+		Counter slowConsumers = Counter.builder("app.websocket.slow.consumers")
+				.description("Number of websocket sessions closed because of exceeded send buffer or send time limit")
+				.register(meterRegistry);
+		registration.setSendBufferSizeLimit(appWebsocketSendBufferSizeLimitBytes)
+				.setSendTimeLimit(appWebsocketSendTimeLimitMillis)
+				.setMessageSizeLimit(appWebsocketMessageSizeLimitBytes)
+				.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+					@Override
+					public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+						if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+							slowConsumers.increment();
+						}
+						super.afterConnectionClosed(session, closeStatus);
+					}
+				});
+	}
+
+	/**
+	 * Bounds the queue of the messages waiting to be written to the websocket sessions.
+	 * Rejected messages are dropped without an exception, so a full queue does not fail
+	 * the sender, e.g. a broadcast to all sessions, they are counted.
+	 */
+	@Override
+	public void configureClientOutboundChannel(ChannelRegistration registration) {
+		Counter droppedMessages = Counter.builder("app.websocket.outbound.dropped")
+				.description("Number of outbound messages dropped because of the full outbound queue")
+				.register(meterRegistry);
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(appWebsocketOutboundPoolSize);
+		executor.setMaxPoolSize(appWebsocketOutboundPoolSize);
+		executor.setQueueCapacity(appWebsocketOutboundQueueCapacity);
+		// like DiscardPolicy the rejected message is silently discarded, but it is counted
+		executor.setRejectedExecutionHandler((runnable, threadPoolExecutor) -> droppedMessages.increment());
+		registration.taskExecutor(executor);
 	}
 }
@@ -65,13 +65,7 @@ public class ApplicationController extends ServiceBase implements ResponseEntity
 	@Operation(summary = "Retrieves chat records", description = "Retrieves chat records belong to the given event and userGroup")
 	@GetMapping(value = "/retrieve-chats")
 	public ResponseEntity<GenericListResponse<ChatDto>> retrieveChats(@RequestParam Long eventId, @RequestParam Long userGroupId) throws ServiceException {
-		UserGroup userGroup = new UserGroup();
-		userGroup.setUserGroupId(userGroupId);
-		Event event = new Event();
-		event.setEventId(eventId);
-		event.addUserGroup(userGroup);
-		
-		var chats = applicationService.getChatsByUserGroupCache().getUnchecked(userGroup);
+		var chats = applicationService.getChatsByUserGroupCache(eventId, userGroupId);
 		return buildResponseEntityWithOK(new GenericListResponse<>(chatMapper.entityListToDtoList(chats)));
 	}
 }
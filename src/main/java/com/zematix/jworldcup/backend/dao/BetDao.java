@@ -15,6 +15,10 @@ import com.querydsl.jpa.impl.JPAQuery;
 import com.zematix.jworldcup.backend.entity.Bet;
 import com.zematix.jworldcup.backend.entity.Match;
 import com.zematix.jworldcup.backend.entity.QBet;
+import com.zematix.jworldcup.backend.entity.QMatch;
+import com.zematix.jworldcup.backend.entity.QTeam;
+import com.zematix.jworldcup.backend.entity.QUser;
+import com.zematix.jworldcup.backend.entity.Round;
 import com.zematix.jworldcup.backend.entity.User;
 import com.zematix.jworldcup.backend.entity.UserGroup;
 
@@ -62,9 +66,33 @@ public class BetDao extends DaoBase {
 		return bet;
 	}
 
+	/**
+	 * Returns found {@link Bet} instance with the provided {@code betId}. Its {@link Match} 
+	 * with {@link Round}, teams and their groups and its {@link User} with roles are 
+	 * fetched in the same query. Otherwise {@code null} is returned.
+	 * 
+	 * @param betId
+	 * @return found {@link Bet} instance
+	 * @throws IllegalArgumentException if any of the given parameters is {@code null}
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public Bet findBetById(Long betId) {
+		Bet bet = null;
+		checkNotNull(betId);
+		
+		QBet qBet = QBet.bet;
+		bet = createFetchedBetQuery(qBet)
+				.where(qBet.betId.eq(betId))
+				.fetchOne();
+
+		return bet;
+	}
+
 	/**
 	 * Returns a list of found {@link Bet} instances with the provided {@code eventId}
 	 * and {@code userId}. It is ordered by {@link Bet#getMatch()#getStartTime()}.
+	 * The {@link Match} with {@link Round}, teams and their groups and the {@link User} 
+	 * with roles of each bet are fetched in the same query.
 	 * 
 	 * @param eventId
 	 * @param userId
@@ -78,8 +106,7 @@ public class BetDao extends DaoBase {
 		checkNotNull(userId);
 		
 		QBet qBet = QBet.bet;
-		JPAQuery<Bet> query = new JPAQuery<>(getEntityManager());
-		bets = query.from(qBet)
+		bets = createFetchedBetQuery(qBet)
 				.where(qBet.event.eventId.eq(eventId),
 						qBet.user.userId.eq(userId))
 				.orderBy(qBet.match.matchN.asc())
@@ -88,8 +115,89 @@ public class BetDao extends DaoBase {
 		return bets;
 	}
 
+	/**
+	 * Returns a list of found {@link Bet} instances with the provided {@code eventId}.
+	 * The {@link Match} and its {@link Round} of each bet are fetched in the same query.
+	 * 
+	 * @param eventId
+	 * @return list of found {@Bet} instances
+	 * @throws IllegalArgumentException if any of the given parameters is {@code null}
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Bet> retrieveBetsByEvent(Long eventId) {
+		List<Bet> bets = null;
+		checkNotNull(eventId);
+		
+		QBet qBet = QBet.bet;
+		QMatch qMatch = QMatch.match;
+		JPAQuery<Bet> query = new JPAQuery<>(getEntityManager());
+		bets = query.from(qBet)
+				.join(qBet.match, qMatch).fetchJoin()
+				.join(qMatch.round).fetchJoin()
+				.where(qBet.event.eventId.eq(eventId))
+				.fetch();
+
+		return bets;
+	}
+
+	/**
+	 * Returns a list of found {@link Bet} instances with the provided {@code matchId}.
+	 * The {@link Match} and its {@link Round} of each bet are fetched in the same query.
+	 * 
+	 * @param matchId
+	 * @return list of found {@Bet} instances
+	 * @throws IllegalArgumentException if any of the given parameters is {@code null}
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Bet> retrieveBetsByMatch(Long matchId) {
+		List<Bet> bets = null;
+		checkNotNull(matchId);
+		
+		QBet qBet = QBet.bet;
+		QMatch qMatch = QMatch.match;
+		JPAQuery<Bet> query = new JPAQuery<>(getEntityManager());
+		bets = query.from(qBet)
+				.join(qBet.match, qMatch).fetchJoin()
+				.join(qMatch.round).fetchJoin()
+				.where(qMatch.matchId.eq(matchId))
+				.fetch();
+
+		return bets;
+	}
+
+	/**
+	 * Returns a list of found {@link Bet} instances with the provided {@code eventId}
+	 * whose users belong to the given {@code userGroupId}. The {@link Match} and its 
+	 * {@link Round} of each bet are fetched in the same query.
+	 * 
+	 * @param eventId
+	 * @param userGroupId - must not belong to virtual Everybody userGroup
+	 * @return list of found {@Bet} instances
+	 * @throws IllegalArgumentException if any of the given parameters is {@code null}
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Bet> retrieveBetsByEventAndUserGroup(Long eventId, Long userGroupId) {
+		List<Bet> bets = null;
+		checkNotNull(eventId);
+		checkNotNull(userGroupId);
+		
+		QBet qBet = QBet.bet;
+		QMatch qMatch = QMatch.match;
+		JPAQuery<Bet> query = new JPAQuery<>(getEntityManager());
+		bets = query.from(qBet)
+				.join(qBet.match, qMatch).fetchJoin()
+				.join(qMatch.round).fetchJoin()
+				.where(qBet.event.eventId.eq(eventId),
+						qBet.user.userGroups.any().userGroupId.eq(userGroupId))
+				.fetch();
+
+		return bets;
+	}
+
 	/**
 	 * Returns {@link Bet} instances belongs to the provided {@link Match#matchId} and {@link UserGroup#userGroupId}.
+	 * The {@link Match} with {@link Round}, teams and their groups and the {@link User} with roles
+	 * of each bet are fetched in the same query.
 	 * @param matchId
 	 * @param userGroupId
 	 * @return found bets
@@ -101,8 +209,7 @@ public class BetDao extends DaoBase {
 		checkNotNull(userGroupId);
 		
 		QBet qBet = QBet.bet;
-		JPAQuery<Bet> query = new JPAQuery<>(getEntityManager());
-		bets = query.from(qBet)
+		bets = createFetchedBetQuery(qBet)
 				.where(qBet.match.matchId.eq(matchId),
 						qBet.user.userGroups.any().userGroupId.eq(userGroupId))
 				.orderBy(qBet.user.loginName.asc())
@@ -124,4 +231,29 @@ public class BetDao extends DaoBase {
 		new JPADeleteClause(getEntityManager(), qBet)
 				.where(qBet.user.userId.eq(userId)).execute();
 	}
+
+	/**
+	 * Creates a query on the given {@link Bet} path where the {@link Match} with its 
+	 * {@link Round}, teams and their groups and the {@link User} with its roles are fetched 
+	 * in the same statement, so these associations can be used without further selects.
+	 * 
+	 * @param qBet - root path of the query
+	 * @return query with fetch joins, its where and orderBy clauses are not set
+	 */
+	private JPAQuery<Bet> createFetchedBetQuery(QBet qBet) {
+		QMatch qMatch = QMatch.match;
+		QTeam qTeam1 = new QTeam("team1");
+		QTeam qTeam2 = new QTeam("team2");
+		QUser qUser = QUser.user;
+		JPAQuery<Bet> query = new JPAQuery<>(getEntityManager());
+		return query.from(qBet)
+				.join(qBet.match, qMatch).fetchJoin()
+				.join(qMatch.round).fetchJoin()
+				.leftJoin(qMatch.team1, qTeam1).fetchJoin()
+				.leftJoin(qTeam1.group).fetchJoin()
+				.leftJoin(qMatch.team2, qTeam2).fetchJoin()
+				.leftJoin(qTeam2.group).fetchJoin()
+				.join(qBet.user, qUser).fetchJoin()
+				.leftJoin(qUser.roles).fetchJoin();
+	}
 }
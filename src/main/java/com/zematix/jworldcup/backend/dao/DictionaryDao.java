@@ -1,26 +1,42 @@
 package com.zematix.jworldcup.backend.dao;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import jakarta.persistence.TypedQuery;
 
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.querydsl.jpa.impl.JPAQuery;
-import com.zematix.jworldcup.backend.configuration.CachingConfig;
 import com.zematix.jworldcup.backend.entity.Dictionary;
-import com.zematix.jworldcup.backend.entity.QDictionary;
 
 /**
- * Database operations around {@link Dictionary} entities.
+ * Database operations around {@link Dictionary} entities. Dictionary table contains
+ * static reference data maintained by database scripts, the application never modifies
+ * it. Therefore all of its rows are loaded into an immutable index at startup and the
+ * lookup methods are served from that index. A row added at runtime becomes visible
+ * after the next {@link #reloadDictionaryIndex()}, called by the daily database 
+ * maintenance job. The returned entities are detached, use 
+ * {@link CommonDao#findEntityById(Class, Object)} if a managed instance is needed, 
+ * e.g. to modify its associations.
  */
 @Component
 @Transactional
 public class DictionaryDao extends DaoBase {
-	
+
+	/**
+	 * Immutable index of all {@link Dictionary} entities keyed by key and value.
+	 * Entries of a key are in database order.
+	 */
+	private volatile Map<String, Map<String, Dictionary>> dictionaryIndex;
+
 	/**
 	 * @return list of all Dictionary entities from database
 	 */
@@ -33,36 +49,73 @@ public class DictionaryDao extends DaoBase {
 	/**
 	 * Return found {@link Dictionary} instances which matches the given {@code key}
 	 * value. Otherwise empty list is returned.
-	 * 
+	 *
 	 * @param - sRole - searched role string
-	 * @return found {@link Dictionary} list or empty list if not found 
+	 * @return found {@link Dictionary} list or empty list if not found
 	 */
 	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
-	@Cacheable(cacheNames = CachingConfig.CACHE_DICTIONARY_BY_KEY, key = "{#key}")
 	public List<Dictionary> findDictionarisByKey(String key) {
-		QDictionary qDictionary = QDictionary.dictionary;
-		JPAQuery<Dictionary> query = new JPAQuery<>(getEntityManager());
-		return query.from(qDictionary)
-			.where(qDictionary.key.eq(key))
-			.fetch();
+		Map<String, Dictionary> dictionaryByValue = getDictionaryIndex().get(key);
+		return dictionaryByValue == null ? new ArrayList<>() : new ArrayList<>(dictionaryByValue.values());
 	}
 
 	/**
-	 * Return found {@link Dictionary} instance which matches the given {@code key} 
+	 * Return found {@link Dictionary} instance which matches the given {@code key}
 	 * and {@code value} values. Otherwise {@code null} is returned.
-	 * 
+	 *
 	 * @param key - searched key
 	 * @param value - searched value
-	 * @return found {@link Dictionary} entity instance or {@code null} if not found 
+	 * @return found {@link Dictionary} entity instance or {@code null} if not found
 	 */
 	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
-	@Cacheable(cacheNames = CachingConfig.CACHE_DICTIONARY_BY_KEY_AND_VALUE, key = "{#key, #value}")
 	public Dictionary findDictionaryByKeyAndValue(String key, String value) {
-		QDictionary qDictionary = QDictionary.dictionary;
-		JPAQuery<Dictionary> query = new JPAQuery<>(getEntityManager());
-		return query.from(qDictionary)
-			.where(qDictionary.key.eq(key).and(qDictionary.value.eq(value)))
-		  .fetchOne();
+		Map<String, Dictionary> dictionaryByValue = getDictionaryIndex().get(key);
+		return dictionaryByValue == null ? null : dictionaryByValue.get(value);
+	}
+
+	/**
+	 * Reloads the dictionary index from database. Lookups running meanwhile are served
+	 * from the previous index.
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public void reloadDictionaryIndex() {
+		dictionaryIndex = loadDictionaryIndex();
+	}
+
+	/**
+	 * Preloads the dictionary index at startup unless it is already loaded by an
+	 * earlier lookup.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		getDictionaryIndex();
+	}
+
+	/**
+	 * Returns the dictionary index, it is loaded at the first call.
+	 *
+	 * @return immutable dictionary index
+	 */
+	private Map<String, Map<String, Dictionary>> getDictionaryIndex() {
+		Map<String, Map<String, Dictionary>> index = dictionaryIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = dictionaryIndex;
+				if (index == null) {
+					index = loadDictionaryIndex();
+					dictionaryIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	private Map<String, Map<String, Dictionary>> loadDictionaryIndex() {
+		Map<String, Map<String, Dictionary>> index = new HashMap<>();
+		for (Dictionary dictionary : getAllDictionaries()) {
+			index.computeIfAbsent(dictionary.getKey(), k -> new LinkedHashMap<>()).put(dictionary.getValue(), dictionary);
+		}
+		index.replaceAll((k, v) -> Collections.unmodifiableMap(v));
+		return Collections.unmodifiableMap(index);
 	}
-	
 }
@@ -1,5 +1,8 @@
 package com.zematix.jworldcup.backend.dao;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
 import java.util.List;
 
 import jakarta.persistence.TypedQuery;
@@ -12,6 +15,8 @@ import com.querydsl.jpa.impl.JPAQuery;
 import com.zematix.jworldcup.backend.entity.Event;
 import com.zematix.jworldcup.backend.entity.Match;
 import com.zematix.jworldcup.backend.entity.QMatch;
+import com.zematix.jworldcup.backend.entity.QRound;
+import com.zematix.jworldcup.backend.entity.QTeam;
 import com.zematix.jworldcup.backend.entity.Team;
 
 /**
@@ -79,6 +84,38 @@ public class MatchDao extends DaoBase {
 		return matches;
 	}
 	
+	/**
+	 * Returns a list of {@link Match} instances where each match element belongs to the 
+	 * event specified by the given {@code eventId}, the match is finished (has valid result) 
+	 * and the match is played in the group stage. The round and the participant teams
+	 * of the matches are fetched in the same query.
+	 * 
+	 * @param eventId
+	 * @return list of finished group matches belongs to the given {@code eventId}
+	 * @throws IllegalArgumentException if any of the parameters is null
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Match> retrieveFinishedGroupMatchesByEvent(Long eventId) {
+		List<Match> matches;
+		
+		QMatch qMatch = QMatch.match;
+		QRound qRound = QRound.round;
+		QTeam qTeam1 = new QTeam("team1");
+		QTeam qTeam2 = new QTeam("team2");
+		JPAQuery<Match> query = new JPAQuery<>(getEntityManager());
+		matches = query.from(qMatch)
+			.join(qMatch.round, qRound).fetchJoin()
+			.join(qMatch.team1, qTeam1).fetchJoin()
+			.join(qMatch.team2, qTeam2).fetchJoin()
+			.where(qMatch.event.eventId.eq(eventId)
+					.and(qMatch.goalNormalByTeam1.isNotNull().and(qMatch.goalNormalByTeam2.isNotNull()))
+					.and(qRound.isGroupmatch.eq((byte) 1)))
+			.orderBy(qMatch.matchN.asc())
+			.fetch();
+		
+		return matches;
+	}
+	
 	/**
 	 * Returns a list of {@link Match} instances where each match element belongs to the 
 	 * group specified by the given {@code groupId}, the match is finished (has valid result) 
@@ -130,6 +167,51 @@ public class MatchDao extends DaoBase {
 		return matches.stream().map(match->match.getParticipantsRule()).toList();
 	}
 
+	/**
+	 * Returns the number of all matches belongs to the provided {@code eventId} event.
+	 * 
+	 * @param eventId
+	 * @return number of matches of the given event
+	 * @throws IllegalArgumentException if any of the parameters is null
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public long countMatchesByEvent(Long eventId) {
+		QMatch qMatch = QMatch.match;
+		JPAQuery<Long> query = new JPAQuery<>(getEntityManager());
+		Long count = query.select(qMatch.count())
+			.from(qMatch)
+			.where(qMatch.event.eventId.eq(eventId))
+			.fetchOne();
+		
+		return count != null ? count : 0L;
+	}
+
+	/**
+	 * Returns {@link Match#matchId} values of the completed matches belongs to the 
+	 * provided {@code eventId} event. A match is completed if it has both participant 
+	 * teams and final result, the same rule is implemented by 
+	 * {@code MatchService#isMatchCompleted(Match)}.
+	 * 
+	 * @param eventId
+	 * @return list of matchId values of the completed matches of the given event
+	 * @throws IllegalArgumentException if any of the parameters is null
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Long> retrieveCompletedMatchIdsByEvent(Long eventId) {
+		QMatch qMatch = QMatch.match;
+		JPAQuery<Long> query = new JPAQuery<>(getEntityManager());
+		return query.select(qMatch.matchId)
+			.from(qMatch)
+			.where(qMatch.event.eventId.eq(eventId)
+					.and(qMatch.team1.teamId.isNotNull().and(qMatch.team2.teamId.isNotNull()))
+					.and(qMatch.round.isGroupmatch.eq((byte) 1)
+							.and(qMatch.goalNormalByTeam1.isNotNull().and(qMatch.goalNormalByTeam2.isNotNull()))
+						.or(qMatch.goalNormalByTeam1.ne(qMatch.goalNormalByTeam2))
+						.or(qMatch.goalExtraByTeam1.ne(qMatch.goalExtraByTeam2))
+						.or(qMatch.goalPenaltyByTeam1.ne(qMatch.goalPenaltyByTeam2))))
+			.fetch();
+	}
+
 	/**
 	 * Retrieves {@link Match} instance belongs to the given {@code eventId} and
 	 *  {@code matchN}.
@@ -153,6 +235,28 @@ public class MatchDao extends DaoBase {
 		return match;
 	}
 
+	/**
+	 * Retrieves {@link Match} instances belongs to the given {@code eventId} and
+	 * {@code matchNs} by a single query.
+	 * 
+	 * @param eventId
+	 * @param matchNs - numbers of the matches started from 1
+	 * @return list of found {@Match} instances, missing ones are not included
+	 * @throws IllegalArgumentException if any of the parameters is null
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Match> retrieveMatchesByMatchNs(Long eventId, Collection<Short> matchNs) {
+		checkNotNull(eventId);
+		checkNotNull(matchNs);
+		
+		QMatch qMatch = QMatch.match;
+		JPAQuery<Match> query = new JPAQuery<>(getEntityManager());
+		return query.from(qMatch)
+			.where(qMatch.event.eventId.eq(eventId)
+					.and(qMatch.matchN.in(matchNs)))
+			.fetch();
+	}
+
 	/**
 	 * Retrieves a list of {@link Match} instances belongs to the  given 
 	 * {@code eventId}, with not null {@link Match#participantsRule} value, located in the 
@@ -215,7 +215,6 @@ public class UserDao extends DaoBase {
 	 * @throws IllegalArgumentException if no {@link Role} or {@link UserStatus}
 	 *                                  instances belong to the given parameters
 	 */
-	@CacheEvict(cacheNames = CachingConfig.CACHE_DICTIONARY_BY_KEY_AND_VALUE, key = "{'ROLE', #sRole}", beforeInvocation = true)
 	public User saveUser(String loginName, String encryptedLoginPassword, String fullName, String emailAddr,
 			String sRole, String sStatus, String token, String zoneId, LocalDateTime modificationTime) {
 		User user = new User();
@@ -229,16 +228,19 @@ public class UserDao extends DaoBase {
 		user.setModificationTime(modificationTime);
 		user.setUserGroups(new HashSet<>());
 
+		// managed instance is needed because its association is modified
 		Dictionary userStatus = dictionaryDao.findDictionaryByKeyAndValue(DictionaryEnum.USER_STATUS.name(), sStatus);
 		checkArgument(userStatus != null,
 				String.format("UserStatus named \"%s\" cannot be found in database.", sStatus));
+		userStatus = commonDao.findEntityById(Dictionary.class, userStatus.getDictionaryId());
 		user.addUserStatus(userStatus);
 
 		commonDao.persistEntity(user);
 		
-		// add a join-table row between user and virtual role tables where role cannot come from cache 
+		// add a join-table row between user and virtual role tables where role must be a managed instance 
 		Dictionary role = dictionaryDao.findDictionaryByKeyAndValue(DictionaryEnum.ROLE.name(),sRole);
 		checkArgument(role != null, String.format("Role named \"%s\" cannot be found in database.", sRole));
+		role = commonDao.findEntityById(Dictionary.class, role.getDictionaryId());
 		user.addRole(role);
 		
 		return user;
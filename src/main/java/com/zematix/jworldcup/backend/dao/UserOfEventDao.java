@@ -93,4 +93,28 @@ public class UserOfEventDao extends DaoBase {
 
 		return userOfEvents;
 	}
+	
+	/**
+	 * Returns found {@link UserOfEvent} instances which matches the given {@code eventId}
+	 * and whose users belong to the given {@code userGroupId}. Otherwise empty list is returned.
+	 * 
+	 * @param - eventId
+	 * @param - userGroupId - must not belong to virtual Everybody userGroup
+	 * @return found userOfEvent with the given {@code eventId} and {@code userGroupId}
+	 * @throws IllegalArgumentException if any of the given parameters is invalid
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<UserOfEvent> retrieveUserOfEventByEventAndUserGroup(Long eventId, Long userGroupId) {
+		List<UserOfEvent> userOfEvents = new ArrayList<>(0);
+		checkNotNull(eventId);
+		checkNotNull(userGroupId);
+
+		QUserOfEvent qUserOfEvent = QUserOfEvent.userOfEvent;
+		JPAQuery<UserOfEvent> query = new JPAQuery<>(getEntityManager());
+		userOfEvents = query.from(qUserOfEvent)
+				.where(qUserOfEvent.event.eventId.eq(eventId),
+						qUserOfEvent.user.userGroups.any().userGroupId.eq(userGroupId)).fetch();
+
+		return userOfEvents;
+	}
 }
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 import com.zematix.jworldcup.backend.emun.SessionDataModificationFlag;
 import com.zematix.jworldcup.backend.emun.SessionDataOperationFlag;
@@ -35,5 +36,6 @@ public class SessionDataDto {
     private List<LocalDateTime> eventTriggerStartTimes;
     
     private EnumSet<SessionDataModificationFlag> modificationSet;
+    private Map<SessionDataModificationFlag, String> fingerprints; // versions of the sections, see SessionService#refreshSessionData
     private SessionDataOperationFlag operationFlag;
 }
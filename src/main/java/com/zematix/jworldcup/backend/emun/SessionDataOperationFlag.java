@@ -2,5 +2,6 @@ package com.zematix.jworldcup.backend.emun;
 
 public enum SessionDataOperationFlag {
 	CLIENT,
-	SERVER
+	SERVER,
+	SERVER_DELTA // pushed changes, no refresh is needed
 }
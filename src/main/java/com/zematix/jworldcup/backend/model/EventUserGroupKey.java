@@ -0,0 +1,14 @@
+package com.zematix.jworldcup.backend.model;
+
+import lombok.Value;
+
+/**
+ * Immutable cache key consists of eventId and userGroupId. The latter can be
+ * the virtual {@code UserGroup.EVERYBODY_USER_GROUP_ID}, that is why eventId 
+ * is also a must.
+ */
+@Value
+public class EventUserGroupKey {
+	Long eventId;
+	Long userGroupId;
+}
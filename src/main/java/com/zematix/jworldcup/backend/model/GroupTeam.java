@@ -43,6 +43,26 @@ public class GroupTeam extends ServerBase {
 	
 	private boolean isTeamInGroupFinished = false;
 
+	/**
+	 * Statistics accumulated from {@link GroupTeam#playedMatches} in one pass, see the
+	 * STAT_* indexes. It is recalculated if {@link GroupTeam#filterTeamIds} changes.
+	 */
+	@Getter(value = AccessLevel.NONE) @Setter(value = AccessLevel.NONE)
+	private int[] statistics;
+
+	/**
+	 * Copy of {@link GroupTeam#filterTeamIds} belongs to {@link GroupTeam#statistics}.
+	 */
+	@Getter(value = AccessLevel.NONE) @Setter(value = AccessLevel.NONE)
+	private List<Long> statisticsFilterTeamIds;
+
+	private static final int STAT_MATCHES_PLAYED = 0;
+	private static final int STAT_WON = 1;
+	private static final int STAT_DRAW = 2;
+	private static final int STAT_LOST = 3;
+	private static final int STAT_GOALS_FOR = 4;
+	private static final int STAT_GOALS_AGAINST = 5;
+
 	/**
 	 * Constructor to create a {@link GroupTeam} instance.
 	 * @param team
@@ -59,6 +79,29 @@ public class GroupTeam extends ServerBase {
 		this.isTeamInGroupFinished = playedMatches != null && team.getGroup().getTeams().size()-1 == playedMatches.size();
 	}
 
+	/**
+	 * Copy constructor, played matches are shared but they must not be modified.
+	 * @param groupTeam - instance to be copied
+	 */
+	public GroupTeam(GroupTeam groupTeam) {
+		this.matchService = groupTeam.matchService;
+		this.team = groupTeam.team;
+		this.playedMatches = groupTeam.playedMatches;
+		this.filterTeamIds = new ArrayList<>(groupTeam.filterTeamIds);
+		this.positionInGroup = groupTeam.positionInGroup;
+		this.isTeamInGroupFinished = groupTeam.isTeamInGroupFinished;
+	}
+
+	/**
+	 * Sets the played matches and drops the accumulated statistics.
+	 * 
+	 * @param playedMatches - played group matches by team
+	 */
+	public void setPlayedMatches(List<Match> playedMatches) {
+		this.playedMatches = playedMatches;
+		this.statistics = null;
+	}
+
 	// calculated fields
 	
 	/**
@@ -101,21 +144,59 @@ public class GroupTeam extends ServerBase {
 	}
 
 	/**
-	 * Returns the number of the played matches of the actual team filtered 
-	 * by {@link GroupTeam#filterTeamIds}.
+	 * Returns the statistics of the played matches of the actual team filtered 
+	 * by {@link GroupTeam#filterTeamIds}. They are accumulated in one pass and
+	 * reused until the filter changes, because comparators call the getters many 
+	 * times during sorting. The filter is compared by value, because it may be 
+	 * modified directly through {@link GroupTeam#getFilterTeamIds()}.
 	 * 
-	 * @return number of the played matches
+	 * @return statistics array indexed by the STAT_* constants
 	 */
-	public int getMatchesPlayed() {
-		int result = 0;
+	private int[] getStatistics() {
+		if (this.statistics != null && this.filterTeamIds.equals(this.statisticsFilterTeamIds)) {
+			return this.statistics;
+		}
+		
+		int[] result = new int[STAT_GOALS_AGAINST + 1];
+		Long teamId = this.team.getTeamId();
 		for (Match match : this.playedMatches) {
-			if (isInFilterTeams(match)) {
-				result++;
+			if (!isInFilterTeams(match)) {
+				continue;
 			}
+			result[STAT_MATCHES_PLAYED]++;
+			switch (getMatchResult(match, teamId)) {
+				case 1:
+					result[STAT_WON]++;
+					break;
+				case 0:
+					result[STAT_DRAW]++;
+					break;
+				case -1:
+					result[STAT_LOST]++;
+					break;
+				default:
+					break;
+			}
+			boolean isTeam1 = teamId.equals(match.getTeam1().getTeamId());
+			result[STAT_GOALS_FOR] += isTeam1 ? match.getGoalNormalByTeam1() : match.getGoalNormalByTeam2();
+			result[STAT_GOALS_AGAINST] += isTeam1 ? match.getGoalNormalByTeam2() : match.getGoalNormalByTeam1();
 		}
+		
+		this.statistics = result;
+		this.statisticsFilterTeamIds = new ArrayList<>(this.filterTeamIds);
 		return result;
 	}
 
+	/**
+	 * Returns the number of the played matches of the actual team filtered 
+	 * by {@link GroupTeam#filterTeamIds}.
+	 * 
+	 * @return number of the played matches
+	 */
+	public int getMatchesPlayed() {
+		return getStatistics()[STAT_MATCHES_PLAYED];
+	}
+
 	/**
 	 * Returns the number of the winner matches of the actual team filtered 
 	 * by {@link GroupTeam#filterTeamIds}.
@@ -123,13 +204,7 @@ public class GroupTeam extends ServerBase {
 	 * @return number of the won played matches
 	 */
 	public int getWon() {
-		int result = 0;
-		for (Match match : this.playedMatches) {
-			if (isInFilterTeams(match)) {
-				result += (getMatchResult(match, this.team.getTeamId()) == 1 ? 1 : 0);
-			}
-		}
-		return result;
+		return getStatistics()[STAT_WON];
 	}
 
 	/**
@@ -139,13 +214,7 @@ public class GroupTeam extends ServerBase {
 	 * @return number of the draw played matches
 	 */
 	public int getDraw() {
-		int result = 0;
-		for (Match match : this.playedMatches) {
-			if (isInFilterTeams(match)) {
-				result += (getMatchResult(match, this.team.getTeamId()) == 0 ? 1 : 0);
-			}
-		}
-		return result;
+		return getStatistics()[STAT_DRAW];
 	}
 
 	/**
@@ -155,13 +224,7 @@ public class GroupTeam extends ServerBase {
 	 * @return number of the lost played matches
 	 */
 	public int getLost() {
-		int result = 0;
-		for (Match match : this.playedMatches) {
-			if (isInFilterTeams(match)) {
-				result += (getMatchResult(match, this.team.getTeamId()) == -1 ? 1 : 0);
-			}
-		}
-		return result;
+		return getStatistics()[STAT_LOST];
 	}
 
 	/**
@@ -171,14 +234,7 @@ public class GroupTeam extends ServerBase {
 	 * @return number of goals after played matches
 	 */
 	public int getGoalsFor() {
-		int result = 0;
-		for (Match match : this.playedMatches) {
-			if (isInFilterTeams(match)) {
-				int side = this.team.getTeamId().equals(match.getTeam1().getTeamId()) ? 1 : 2;
-				result += (side==1 ? match.getGoalNormalByTeam1() : match.getGoalNormalByTeam2());
-			}
-		}
-		return result;
+		return getStatistics()[STAT_GOALS_FOR];
 	}
 
 	/**
@@ -188,14 +244,7 @@ public class GroupTeam extends ServerBase {
 	 * @return number of goals after played matches
 	 */
 	public int getGoalsAgainst() {
-		int result = 0;
-		for (Match match : this.playedMatches) {
-			if (isInFilterTeams(match)) {
-				int side = this.team.getTeamId().equals(match.getTeam1().getTeamId()) ? 1 : 2;
-				result += (side==2 ? match.getGoalNormalByTeam1() : match.getGoalNormalByTeam2());
-			}
-		}
-		return result;
+		return getStatistics()[STAT_GOALS_AGAINST];
 	}
 
 	/**
@@ -0,0 +1,87 @@
+package com.zematix.jworldcup.backend.model;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable leaderboard snapshot of the virtual Everybody userGroup of an event.
+ * It contains the sorted and ranked user positions of all users with bets at the
+ * time of its creation. Contained {@link UserPosition} elements are copies and must
+ * not be modified, use {@link #copyUserPositions()} to get modifiable instances.
+ */
+public class LeaderboardSnapshot {
+
+	private final Long eventId;
+
+	private final LocalDateTime createdAt;
+
+	private final List<UserPosition> userPositions;
+
+	/**
+	 * @param eventId
+	 * @param createdAt - time of the creation
+	 * @param userPositions - sorted and ranked user positions, they are copied
+	 */
+	public LeaderboardSnapshot(Long eventId, LocalDateTime createdAt, List<UserPosition> userPositions) {
+		this.eventId = checkNotNull(eventId);
+		this.createdAt = checkNotNull(createdAt);
+		checkNotNull(userPositions);
+		this.userPositions = Collections.unmodifiableList(copyUserPositions(userPositions));
+	}
+
+	/**
+	 * @return eventId the snapshot belongs to
+	 */
+	public Long getEventId() {
+		return eventId;
+	}
+
+	/**
+	 * @return time of the creation
+	 */
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	/**
+	 * @return unmodifiable list of sorted and ranked user positions, its elements must not be modified
+	 */
+	public List<UserPosition> getUserPositions() {
+		return userPositions;
+	}
+
+	/**
+	 * @return modifiable copy of the sorted and ranked user positions
+	 */
+	public List<UserPosition> copyUserPositions() {
+		return copyUserPositions(userPositions);
+	}
+
+	/**
+	 * Returns a modifiable copy of the given user position.
+	 *
+	 * @param userPosition
+	 * @return copy of the given userPosition
+	 */
+	public static UserPosition copyUserPosition(UserPosition userPosition) {
+		UserPosition copy = new UserPosition();
+		copy.setUserId(userPosition.getUserId());
+		copy.setLoginName(userPosition.getLoginName());
+		copy.setFullName(userPosition.getFullName());
+		copy.setScore(userPosition.getScore());
+		copy.setPosition(userPosition.getPosition());
+		return copy;
+	}
+
+	private static List<UserPosition> copyUserPositions(List<UserPosition> userPositions) {
+		List<UserPosition> copies = new ArrayList<>(userPositions.size());
+		for (UserPosition userPosition : userPositions) {
+			copies.add(copyUserPosition(userPosition));
+		}
+		return copies;
+	}
+}
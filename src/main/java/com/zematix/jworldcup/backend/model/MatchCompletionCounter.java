@@ -0,0 +1,70 @@
+package com.zematix.jworldcup.backend.model;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.zematix.jworldcup.backend.entity.Match;
+
+/**
+ * Completion counter of the matches of an event. It contains the number of all
+ * matches and the ids of the completed ones, so it can be updated by a single
+ * {@link Match} without querying the others.
+ */
+public class MatchCompletionCounter {
+
+	private final int numberOfMatches;
+
+	private final Set<Long> completedMatchIds = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param numberOfMatches - number of all matches of the event
+	 * @param completedMatchIds - ids of the completed matches of the event
+	 */
+	public MatchCompletionCounter(int numberOfMatches, Collection<Long> completedMatchIds) {
+		checkArgument(numberOfMatches >= 0, "Argument \"numberOfMatches\" must not be negative.");
+		checkNotNull(completedMatchIds);
+		this.numberOfMatches = numberOfMatches;
+		this.completedMatchIds.addAll(completedMatchIds);
+	}
+
+	/**
+	 * Registers the actual completion state of the given match.
+	 * 
+	 * @param matchId
+	 * @param isCompleted - {@code true} if the match has participant teams and final result
+	 */
+	public void update(Long matchId, boolean isCompleted) {
+		checkNotNull(matchId);
+		if (isCompleted) {
+			completedMatchIds.add(matchId);
+		}
+		else {
+			completedMatchIds.remove(matchId);
+		}
+	}
+
+	/**
+	 * @return number of all matches
+	 */
+	public int getNumberOfMatches() {
+		return numberOfMatches;
+	}
+
+	/**
+	 * @return number of completed matches
+	 */
+	public int getNumberOfCompletedMatches() {
+		return completedMatchIds.size();
+	}
+
+	/**
+	 * @return number of completed matches divided by number of all matches in percent
+	 */
+	public int getPercent() {
+		return numberOfMatches == 0 ? 0 : getNumberOfCompletedMatches() * 100 / numberOfMatches;
+	}
+}
@@ -0,0 +1,21 @@
+package com.zematix.jworldcup.backend.model;
+
+import com.zematix.jworldcup.backend.entity.Match;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Published when a match is updated by the matchdata of a web service, typically
+ * from a scheduled job where no http request or session is bound. Unlike
+ * {@code PublishedEvent<Match>} it is consumed only by the listeners maintaining
+ * application level values, e.g. score ledger, leaderboard snapshot and match
+ * completion counter.
+ */
+@Getter
+@AllArgsConstructor
+public class MatchdataUpdateEvent {
+	@NonNull
+	private Match match;
+}
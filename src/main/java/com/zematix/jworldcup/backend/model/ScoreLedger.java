@@ -0,0 +1,166 @@
+package com.zematix.jworldcup.backend.model;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory score ledger of an event. It stores the scores gained by the bets of
+ * the users keyed by userId and matchId, together with the total score of each user.
+ * A row of a user is immutable, any modification replaces the whole row, so concurrent
+ * readers always get a consistent total score.
+ * A missing row means that the scores of the user are not loaded yet.
+ * Each modification of a user increments the version of the user, a row loaded
+ * meanwhile is not published, see {@link #putUser(Long, Map, long)}.
+ */
+public class ScoreLedger {
+
+	private final Long eventId;
+
+	private final ConcurrentMap<Long, Row> rowsByUserId = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Long, Long> versionsByUserId = new ConcurrentHashMap<>();
+
+	public ScoreLedger(Long eventId) {
+		this.eventId = checkNotNull(eventId);
+	}
+
+	/**
+	 * @return eventId the ledger belongs to
+	 */
+	public Long getEventId() {
+		return eventId;
+	}
+
+	/**
+	 * Returns {@code true} if the ledger contains loaded row of the given user.
+	 *
+	 * @param userId
+	 * @return {@code true} if the row of the given user is loaded
+	 */
+	public boolean containsUser(Long userId) {
+		return rowsByUserId.containsKey(userId);
+	}
+
+	/**
+	 * @return userIds of all loaded rows
+	 */
+	public Set<Long> getUserIds() {
+		return Collections.unmodifiableSet(rowsByUserId.keySet());
+	}
+
+	/**
+	 * Returns total score of the given user or {@code null} if the row of the user
+	 * is not loaded.
+	 *
+	 * @param userId
+	 * @return total score of the user or {@code null}
+	 */
+	public Integer getScore(Long userId) {
+		Row row = rowsByUserId.get(userId);
+		return row != null ? row.score : null;
+	}
+
+	/**
+	 * Returns the actual version of the given user. It must be taken before the scores
+	 * of the user are loaded, see {@link #putUser(Long, Map, long)}.
+	 *
+	 * @param userId
+	 * @return version of the user
+	 */
+	public long getVersion(Long userId) {
+		return versionsByUserId.getOrDefault(userId, 0L);
+	}
+
+	/**
+	 * Puts/replaces the row of the given user.
+	 *
+	 * @param userId
+	 * @param scoresByMatchId - scores of the user keyed by matchId
+	 */
+	public void putUser(Long userId, Map<Long, Integer> scoresByMatchId) {
+		checkNotNull(userId);
+		checkNotNull(scoresByMatchId);
+		rowsByUserId.put(userId, new Row(scoresByMatchId));
+	}
+
+	/**
+	 * Puts/replaces the row of the given user only if the user is not modified since
+	 * the given version was taken, otherwise the loaded row might be stale so it is
+	 * dropped.
+	 *
+	 * @param userId
+	 * @param scoresByMatchId - scores of the user keyed by matchId
+	 * @param version - version of the user taken before the scores were loaded
+	 * @return total score of the given scores, even if they are not published
+	 */
+	public int putUser(Long userId, Map<Long, Integer> scoresByMatchId, long version) {
+		checkNotNull(userId);
+		checkNotNull(scoresByMatchId);
+		Row row = new Row(scoresByMatchId);
+		versionsByUserId.compute(userId, (k, actualVersion) -> {
+			if ((actualVersion != null ? actualVersion : 0L) == version) {
+				rowsByUserId.put(userId, row);
+			}
+			return actualVersion;
+		});
+		return row.score;
+	}
+
+	/**
+	 * Replaces score of the given match in the row of the given user. Nothing happens
+	 * if the row of the user is not loaded, it will contain the actual score when it
+	 * is loaded. A row being loaded meanwhile might miss the score so it is dropped.
+	 *
+	 * @param userId
+	 * @param matchId
+	 * @param score
+	 */
+	public void putScore(Long userId, Long matchId, int score) {
+		checkNotNull(userId);
+		checkNotNull(matchId);
+		versionsByUserId.compute(userId, (k, version) -> {
+			rowsByUserId.computeIfPresent(userId, (k2, row) -> {
+				Map<Long, Integer> scoresByMatchId = new HashMap<>(row.scoresByMatchId);
+				scoresByMatchId.put(matchId, score);
+				return new Row(scoresByMatchId);
+			});
+			return nextVersion(version);
+		});
+	}
+
+	/**
+	 * Removes the row of the given user, so it must be loaded again. A row being loaded
+	 * meanwhile is dropped.
+	 *
+	 * @param userId
+	 */
+	public void removeUser(Long userId) {
+		versionsByUserId.compute(userId, (k, version) -> {
+			rowsByUserId.remove(userId);
+			return nextVersion(version);
+		});
+	}
+
+	private static long nextVersion(Long version) {
+		return version != null ? version + 1 : 1L;
+	}
+
+	/**
+	 * Immutable row of a user containing the scores by matchId and their total.
+	 */
+	private static final class Row {
+		private final Map<Long, Integer> scoresByMatchId;
+		private final int score;
+
+		private Row(Map<Long, Integer> scoresByMatchId) {
+			this.scoresByMatchId = Collections.unmodifiableMap(new HashMap<>(scoresByMatchId));
+			this.score = scoresByMatchId.values().stream().mapToInt(Integer::intValue).sum();
+		}
+	}
+}
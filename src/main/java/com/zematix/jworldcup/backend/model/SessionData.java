@@ -2,9 +2,11 @@ package com.zematix.jworldcup.backend.model;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import com.zematix.jworldcup.backend.emun.SessionDataModificationFlag;
 import com.zematix.jworldcup.backend.emun.SessionDataOperationFlag;
@@ -40,6 +42,7 @@ public class SessionData {
     private List<LocalDateTime> eventTriggerStartTimes;
     
     private EnumSet<SessionDataModificationFlag> modificationSet = EnumSet.noneOf(SessionDataModificationFlag.class);
+    private Map<SessionDataModificationFlag, String> fingerprints = new EnumMap<>(SessionDataModificationFlag.class);
     private SessionDataOperationFlag operationFlag = SessionDataOperationFlag.CLIENT;
 
     public SessionData(String id) {
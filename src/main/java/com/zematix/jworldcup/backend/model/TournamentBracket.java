@@ -0,0 +1,154 @@
+package com.zematix.jworldcup.backend.model;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.zematix.jworldcup.backend.entity.Match;
+
+/**
+ * Immutable knockout bracket of an event compiled once from the participant rules
+ * of its matches. Nodes are the matches given by their {@link Match#getMatchN()},
+ * each node has a pair of participant sources. A source is either a group position,
+ * e.g. "A1" or "BCD3", or the winner/loser of a parent match, e.g. "W49" or "L61",
+ * where the latter ones are the edges of the bracket graph. A rule is classified as
+ * a whole, only a rule with parent match sources on both sides, e.g. "W49-W50", is a
+ * knockout one, so group "L" of a 48 team event, e.g. "L1-EHIJK3", is not mistaken
+ * for the loser of a match.
+ */
+public class TournamentBracket {
+
+	private static final String WINNER = "W";
+	private static final String LOSER = "L";
+
+	private final Long eventId;
+
+	private final Map<Short, Pair<GroupPosition>> groupPositionPairsByMatchN;
+
+	private final Map<Short, List<Short>> childMatchNsByMatchN;
+
+	private final Set<GroupPosition> knockoutGroupPositions;
+
+	/**
+	 * @param eventId
+	 * @param groupPositionPairsByMatchN - converted participant rules keyed by the match numbers,
+	 *        only matches with participant rule are included
+	 */
+	public TournamentBracket(Long eventId, Map<Short, Pair<GroupPosition>> groupPositionPairsByMatchN) {
+		this.eventId = checkNotNull(eventId);
+		checkNotNull(groupPositionPairsByMatchN);
+		this.groupPositionPairsByMatchN = Collections.unmodifiableMap(new HashMap<>(groupPositionPairsByMatchN));
+
+		Map<Short, List<Short>> children = new HashMap<>();
+		Set<GroupPosition> knockouts = new LinkedHashSet<>();
+		for (Map.Entry<Short, Pair<GroupPosition>> entry : groupPositionPairsByMatchN.entrySet()) {
+			if (!isKnockoutRule(entry.getValue())) {
+				continue;
+			}
+			for (GroupPosition groupPosition : entry.getValue().getList()) {
+				knockouts.add(groupPosition);
+				children.computeIfAbsent(groupPosition.getPosition().shortValue(), k -> new ArrayList<>())
+						.add(entry.getKey());
+			}
+		}
+		children.replaceAll((k, v) -> Collections.unmodifiableList(v));
+		this.childMatchNsByMatchN = Collections.unmodifiableMap(children);
+		this.knockoutGroupPositions = Collections.unmodifiableSet(knockouts);
+	}
+
+	/**
+	 * Returns {@code true} if the given group position may refer to the winner or loser
+	 * of a match, e.g. "W49" or "L61". Group "L" of a 48 team event looks the same,
+	 * therefore it must be used only together with the other side of the rule, see
+	 * {@link #isKnockoutRule(Pair)}.
+	 *
+	 * @param groupPosition
+	 * @return {@code true} if the given group position looks like a knockout one
+	 */
+	private static boolean isKnockoutGroupPosition(GroupPosition groupPosition) {
+		return WINNER.equals(groupPosition.getGroupName()) || LOSER.equals(groupPosition.getGroupName());
+	}
+
+	/**
+	 * Returns {@code true} if both group positions of the given participant rule refer to
+	 * the winner or loser of a match, e.g. "W49-W50" or "L61-L62".
+	 *
+	 * @param groupPositionPair
+	 * @return {@code true} if the given participant rule is a knockout one
+	 */
+	private static boolean isKnockoutRule(Pair<GroupPosition> groupPositionPair) {
+		return groupPositionPair != null
+				&& isKnockoutGroupPosition(groupPositionPair.getValue1())
+				&& isKnockoutGroupPosition(groupPositionPair.getValue2());
+	}
+
+	/**
+	 * @return eventId the bracket belongs to
+	 */
+	public Long getEventId() {
+		return eventId;
+	}
+
+	/**
+	 * Returns the converted participant rule of the given match.
+	 *
+	 * @param matchN
+	 * @return pair of group positions or {@code null} if the match has no participant rule
+	 */
+	public Pair<GroupPosition> getGroupPositionPair(Short matchN) {
+		return groupPositionPairsByMatchN.get(matchN);
+	}
+
+	/**
+	 * Returns {@code true} if both participants of the given match come from parent
+	 * matches, e.g. "W49-W50" or "L61-L62".
+	 *
+	 * @param matchN
+	 * @return {@code true} if the match has knockout participant rule
+	 */
+	public boolean isKnockoutRule(Short matchN) {
+		return isKnockoutRule(getGroupPositionPair(matchN));
+	}
+
+	/**
+	 * Returns the numbers of the matches whose participants depend on the result
+	 * of the given match.
+	 *
+	 * @param matchN
+	 * @return unmodifiable list of child match numbers, it may be empty
+	 */
+	public List<Short> getChildMatchNs(Short matchN) {
+		return childMatchNsByMatchN.getOrDefault(matchN, Collections.emptyList());
+	}
+
+	/**
+	 * Returns all group positions of the knockout rules, they refer to the winner or loser of a match.
+	 *
+	 * @return unmodifiable set of knockout group positions
+	 */
+	public Set<GroupPosition> getKnockoutGroupPositions() {
+		return knockoutGroupPositions;
+	}
+
+	/**
+	 * Returns the distinct group names of the participant rule of the given match,
+	 * e.g. ["A", "B", "C", "D"] from "A2-BCD3".
+	 *
+	 * @param matchN
+	 * @return list of group names, it is empty if the match has no participant rule
+	 */
+	public List<String> getGroupNames(Short matchN) {
+		Pair<GroupPosition> groupPositionPair = getGroupPositionPair(matchN);
+		if (groupPositionPair == null) {
+			return Collections.emptyList();
+		}
+		String groupPositionNames = groupPositionPair.getValue1().getGroupName() + groupPositionPair.getValue2().getGroupName();
+		return groupPositionNames.chars().mapToObj(e -> String.valueOf((char) e)).distinct().toList();
+	}
+}
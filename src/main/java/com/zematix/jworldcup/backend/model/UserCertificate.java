@@ -57,6 +57,28 @@ public class UserCertificate implements Serializable {
 	 */
 	private int position = 1;
 
+	/**
+	 * Copy constructor
+	 * 
+	 * @param userCertificate - source object
+	 */
+	public UserCertificate(UserCertificate userCertificate) {
+		this.userGroupId = userCertificate.userGroupId;
+		this.eventShortDescWithYear = userCertificate.eventShortDescWithYear;
+		this.userLoginName = userCertificate.userLoginName;
+		this.userFullName = userCertificate.userFullName;
+		this.userGroupName = userCertificate.userGroupName;
+		this.maximumScoreByEvent = userCertificate.maximumScoreByEvent;
+		this.firstUserScore = userCertificate.firstUserScore;
+		this.userScore = userCertificate.userScore;
+		this.numberOfMembers = userCertificate.numberOfMembers;
+		this.numberOfEverybodyMembers = userCertificate.numberOfEverybodyMembers;
+		this.userGroupPosition = userCertificate.userGroupPosition;
+		this.userGroupLastPosition = userCertificate.userGroupLastPosition;
+		this.everybody = userCertificate.everybody;
+		this.position = userCertificate.position;
+	}
+
 	/**
 	 * Calculated score of a user in a userGroup after a finished event/tournament.
 	 * It consist of more parts in different weights:
@@ -7,8 +7,10 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -29,14 +31,17 @@ import org.springframework.web.context.annotation.ApplicationScope;
 import com.google.common.base.Stopwatch;
 import com.zematix.jworldcup.backend.configuration.QuartzConfig;
 import com.zematix.jworldcup.backend.configuration.SessionListener;
-import com.zematix.jworldcup.backend.emun.SessionDataOperationFlag;
+import com.zematix.jworldcup.backend.dao.DictionaryDao;
+import com.zematix.jworldcup.backend.entity.Event;
 import com.zematix.jworldcup.backend.entity.Match;
 import com.zematix.jworldcup.backend.exception.ServiceException;
-import com.zematix.jworldcup.backend.model.PublishedEvent;
 import com.zematix.jworldcup.backend.model.SessionData;
 import com.zematix.jworldcup.backend.service.ApplicationService;
+import com.zematix.jworldcup.backend.service.EventService;
+import com.zematix.jworldcup.backend.service.HeaderMessageFanOutService;
 import com.zematix.jworldcup.backend.service.MatchService;
 import com.zematix.jworldcup.backend.service.MessageQueueService;
+import com.zematix.jworldcup.backend.service.ScoreLedgerService;
 import com.zematix.jworldcup.backend.service.ServiceBase;
 import com.zematix.jworldcup.backend.service.SessionService;
 import com.zematix.jworldcup.backend.service.UserService;
@@ -59,12 +64,24 @@ public class SchedulerService extends ServiceBase {
 	@Inject
 	private MatchService matchService;
 	
+	@Inject
+	private EventService eventService;
+	
+	@Inject
+	private ScoreLedgerService scoreLedgerService;
+	
 	@Inject
 	private WebServiceService webServiceService;
 	
 	@Inject
 	private MessageQueueService messageQueueService;
 	
+	@Inject
+	private HeaderMessageFanOutService headerMessageFanOutService;
+	
+	@Inject
+	private DictionaryDao dictionaryDao;
+	
 	@Inject
 	private Scheduler scheduler;
 
@@ -136,7 +153,9 @@ public class SchedulerService extends ServiceBase {
 	
 	/**
 	 * A scheduled database maintenance job execution.
-	 * It deletes expired objects and refreshes {@link ApplicationService#topUsersCache}.
+	 * It deletes expired objects, reloads the dictionary index and the match completion 
+	 * counters, drops the score ledgers of the completed events and refreshes
+	 * {@link ApplicationService#topUsersCache}.
 	 */
 	public void databaseMaintenanceJob() throws ServiceException {
 		int n = userService.deleteExpiredCandidateUsers();
@@ -146,6 +165,19 @@ public class SchedulerService extends ServiceBase {
 		n = userService.deleteExpiredPasswordResets();
 		logger.info(String.format("Scheduled deleteExpiredPasswordResets deleted %d elements.", n));
 		
+		// rows added to the dictionary table by database scripts
+		dictionaryDao.reloadDictionaryIndex();
+		
+		// match results modified by database scripts
+		for (Event event : eventService.findAllEvents()) {
+			matchService.invalidateMatchCompletionCounter(event.getEventId());
+			applicationService.refreshEventCompletionPercentCache(event.getEventId());
+			if (applicationService.getEventCompletionPercentCache(event.getEventId()) == 100) {
+				// scores of a completed event do not change, its ledger is loaded again only if it is used
+				scoreLedgerService.evictScoreLedger(event.getEventId());
+			}
+		}
+		
 		Stopwatch stopwatch = Stopwatch.createStarted();
 		applicationService.refreshTopUsersCache();
 		stopwatch.stop(); // optional
@@ -178,6 +210,12 @@ public class SchedulerService extends ServiceBase {
 			// update cached value
 			applicationService.refreshEventCompletionPercentCache(eventId);
 			
+			// top users of the event must be recalculated, at event completion topUsers are refreshed at once
+			applicationService.invalidateTopUsersByEventCache(eventId);
+			if (applicationService.getEventCompletionPercentCache(eventId) == 100) {
+				applicationService.refreshTopUsersCache();
+			}
+			
 			// generate header messages from updated matches
 			this.generateHeaderMessagesByMatches(updatedMatches);
 		}
@@ -201,14 +239,14 @@ public class SchedulerService extends ServiceBase {
 			}
 			futileAttemptsByEventId.put(match.getEvent().getEventId(), attempt);
 			if (attempt == 0) {
-				applicationService.getRetrieveMatchResultsJobTriggerStartTimesCache().refresh(eventId); // reset cache
+				applicationService.refreshRetrieveMatchResultsJobTriggerStartTimesCache(eventId); // reset cache
 			}
 			scheduleByIncompleteMatch(match);
 		}
 		else {
 			// there is no incomplete match at all, no more trigger/job has to be created
 			futileAttemptsByEventId.remove(eventId);
-			applicationService.getRetrieveMatchResultsJobTriggerStartTimesCache().refresh(eventId); // reset cache
+			applicationService.refreshRetrieveMatchResultsJobTriggerStartTimesCache(eventId); // reset cache
 		}
 	}
 
@@ -219,23 +257,7 @@ public class SchedulerService extends ServiceBase {
 	private void generateHeaderMessagesByMatches(List<Match> matches) {
 		checkNotNull(matches);
 		
-		if (matches.isEmpty()) {
-			return;
-		}
-		
-		List<org.springframework.security.core.userdetails.User> users = applicationService.getAllAuthenticatedPrincipals();
-		users.stream().forEach( user -> {
-			logger.info("authenticated user: {}", user.getUsername());
-			List<SessionInformation> sessionInfos = applicationService.getAllAuthenticatedSessions(user);
-			sessionInfos.stream().map(info -> SessionListener.getSession(info.getSessionId())).filter(Objects::nonNull).forEach(session -> {
-				SessionService sessionService = (SessionService)session.getAttribute("scopedTarget.sessionService");
-				if (sessionService != null) {
-					for (Match match: matches) {
-						sessionService.onUpdateMatchEvent(new PublishedEvent<>(match)); // direct call
-					}
-				}
-			});
-		});
+		headerMessageFanOutService.fanOutMatchResults(matches);
 	}
 	
 	/**
@@ -280,7 +302,7 @@ public class SchedulerService extends ServiceBase {
 			SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 			logger.info(String.format("Added scheduler with job %s triggered on %s.", 
 					jobDetail.getName(), sdf.format(simpleTrigger.getStartTime())));
-			applicationService.getRetrieveMatchResultsJobTriggerStartTimesCache().getIfPresent(eventId).add(triggerStartTime);
+			applicationService.addRetrieveMatchResultsJobTriggerStartTime(eventId, triggerStartTime);
 		}
 		
 		return createRetrieveMatchResultsJobTrigger;
@@ -339,7 +361,7 @@ public class SchedulerService extends ServiceBase {
 		
 		if (relaunchRetrieveMatchResultsJobTrigger) {
 			futileAttemptsByEventId.put(eventId, /*attempt*/ (short)0);
-			applicationService.getRetrieveMatchResultsJobTriggerStartTimesCache().refresh(eventId); // reset cache
+			applicationService.refreshRetrieveMatchResultsJobTriggerStartTimesCache(eventId); // reset cache
 		}
 		
 		return relaunchRetrieveMatchResultsJobTrigger;
@@ -347,9 +369,12 @@ public class SchedulerService extends ServiceBase {
 	
 	/**
 	 * Notify clients scheduled job execution.
-	 * Sends session refresh requests to all authenticated clients.
+	 * Broadcasts the changes of the event level data to the topics of the events of the 
+	 * authenticated clients, then sends the private changes of the server side session data 
+	 * to those authenticated clients whose observable state has changed since the last push.
 	 */
 	public void notifyClientsJob() {
+		Set<Long> eventIds = new LinkedHashSet<>();
 		List<org.springframework.security.core.userdetails.User> users = applicationService.getAllAuthenticatedPrincipals();
 		users.stream().forEach( user -> {
 			logger.info("authenticated user: {}", user.getUsername());
@@ -357,12 +382,24 @@ public class SchedulerService extends ServiceBase {
 			sessionInfos.stream().map(info -> SessionListener.getSession(info.getSessionId())).filter(Objects::nonNull).forEach(session -> {
 				SessionService sessionService = (SessionService)session.getAttribute("scopedTarget.sessionService");
 				if (sessionService != null) {
+					if (sessionService.getEvent() != null) {
+						eventIds.add(sessionService.getEvent().getEventId());
+					}
 					sessionService.generateHeaderMessages();
-					SessionData sessionData = new SessionData(sessionService.getId());
-					sessionData.setOperationFlag(SessionDataOperationFlag.SERVER);
-					messageQueueService.sendSession(sessionData);
+					SessionData sessionData = sessionService.createSessionDataDelta();
+					if (sessionData != null) {
+						messageQueueService.sendSession(sessionData);
+					}
 				}
 			});
 		});
+		
+		// event level data is sent once per event instead of once per session
+		eventIds.forEach(eventId -> {
+			SessionData eventData = applicationService.createEventDataDelta(eventId);
+			if (eventData != null) {
+				messageQueueService.sendEvent(eventId, eventData);
+			}
+		});
 	}
 }
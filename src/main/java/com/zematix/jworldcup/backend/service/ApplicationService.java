@@ -1,30 +1,64 @@
 package com.zematix.jworldcup.backend.service;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.inject.Inject;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.annotation.ApplicationScope;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.zematix.jworldcup.backend.configuration.CacheEntryVersions;
+import com.zematix.jworldcup.backend.configuration.CachingConfig;
+import com.zematix.jworldcup.backend.configuration.CoalescingCaffeineCache;
+import com.zematix.jworldcup.backend.emun.SessionDataModificationFlag;
+import com.zematix.jworldcup.backend.emun.SessionDataOperationFlag;
 import com.zematix.jworldcup.backend.entity.Chat;
 import com.zematix.jworldcup.backend.entity.Event;
 import com.zematix.jworldcup.backend.entity.UserGroup;
+import com.zematix.jworldcup.backend.exception.ServiceException;
+import com.zematix.jworldcup.backend.model.EventUserGroupKey;
+import com.zematix.jworldcup.backend.model.SessionData;
 import com.zematix.jworldcup.backend.model.UserCertificate;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 /**
  * Helper class to get values related to the application.
  * The base values mostly come from application property file.
@@ -45,8 +79,17 @@ public class ApplicationService extends ServiceBase {
 	@Inject
 	private ChatService chatService;
 	
+	@Inject
+	private BetService betService;
+	
+	@Inject
+	private MeterRegistry meterRegistry;
+	
 	@Inject
 	private SessionRegistry sessionRegistry;
+	
+	@Inject
+	private CacheEntryVersions cacheEntryVersions;
 
 	@Value("${app.shortName}")
 	private String appShortName;
@@ -69,50 +112,73 @@ public class ApplicationService extends ServiceBase {
 	/**
 	 * Cached map containing event completions in percent.
 	 * Key is the {@link Event#eventId}, value is an integer between 0 and 100.
-	 * Because of loader method may throw @{link ServiceException} no lambda function
-	 * could be used despite {@link CacheLoader#from} supports it.
+	 * It is refreshed whenever a match result is saved, the periodic refresh is only a safety net.
 	 */
-	private LoadingCache<Long, Integer> eventCompletionPercentCache = CacheBuilder.newBuilder()
-			.build(new CacheLoader<Long, Integer>() {
-				public Integer load(Long eventId) throws Exception {
-					return matchService.retriveMatchesAccomplishedInPercent(eventId);
-				}
-			});
+	private final LoadingCache<Long, Integer> eventCompletionPercentCache = Caffeine.newBuilder()
+			.maximumSize(100)
+			.refreshAfterWrite(1, TimeUnit.HOURS)
+			.recordStats()
+			.build(eventId -> matchService.retriveMatchesAccomplishedInPercent(eventId));
 
+	/**
+	 * Cached theoretically maximum score of completed events by eventId as key.
+	 * It is calculated when an event becomes completed and invalidated when it
+	 * becomes incomplete again.
+	 */
+	private final LoadingCache<Long, Integer> maximumScoreByEventCache = Caffeine.newBuilder()
+			.maximumSize(100)
+			.recordStats()
+			.build(eventId -> betService.retrieveMaximumScoreByEvent(eventId));
+
+	/**
+	 * Cached list containing ids of all events.
+	 * It may contain max 1 elements with {@link ApplicationService#appShortName} key value.
+	 * Events are created outside of the application, so it is refreshed periodically.
+	 */
+	private final LoadingCache<String, List<Long>> eventIdsCache = Caffeine.newBuilder()
+			.maximumSize(1)
+			.refreshAfterWrite(1, TimeUnit.HOURS)
+			.recordStats()
+			.build(unused -> eventService.findAllEvents().stream().map(Event::getEventId).toList());
+	
 	/**
 	 * Cached list containing topUsers.
 	 * It may contain max 1 elements with {@link ApplicationService#appShortName} key value.
 	 */
-	private LoadingCache<String, List<UserCertificate>> topUsersCache = CacheBuilder.newBuilder()
+	private final LoadingCache<String, List<UserCertificate>> topUsersCache = Caffeine.newBuilder()
 			.maximumSize(1)
-			.build(new CacheLoader<String, List<UserCertificate>>() {
-				public List<UserCertificate> load(String unused) throws Exception {
-					return userGroupService.retrieveTopUsers();
-				}
-			});
+			.recordStats()
+			.build(unused -> userGroupService.retrieveTopUsers());
+	
+	/**
+	 * Cached list containing topUsers of a completed event by eventId as key.
+	 * Because a completed event does not change, an element is calculated only once, 
+	 * it is invalidated only if a match result of its event is modified.
+	 */
+	private final LoadingCache<Long, List<UserCertificate>> topUsersByEventCache = Caffeine.newBuilder()
+			.maximumSize(100)
+			.recordStats()
+			.build(eventId -> userGroupService.retrieveTopUsersByEvent(eventId, null));
 	
 	/**
 	 * Cached list of used trigger date values belongs to scheduled retrieveMatchResultsJob by eventId as key.
-	 * Adding elements to the cache takes place manually.
+	 * Adding elements to the cache takes place manually, therefore it must not be refreshed periodically.
 	 */
-	private LoadingCache<Long, List<LocalDateTime>> retrieveMatchResultsJobTriggerStartTimesCache = CacheBuilder.newBuilder()
-			.build(new CacheLoader<Long, List<LocalDateTime>>() {
-				public List<LocalDateTime> load(Long eventId) throws Exception {
-					return new ArrayList<>(); // refresh makes the list empty
-				}
-			});
+	private final LoadingCache<Long, List<LocalDateTime>> retrieveMatchResultsJobTriggerStartTimesCache = Caffeine.newBuilder()
+			.maximumSize(100)
+			.recordStats()
+			.build(eventId -> new ArrayList<>()); // refresh makes the list empty
 	
 	/**
-	 * Cached list of chat objects belongs to key userGroup. The latter can be 
+	 * Cached list of chat objects belongs to key eventId and userGroupId. The latter can be 
 	 * virtual one with UserGroup.EVERYBODY_USER_GROUP_ID ID value, where eventId 
 	 * is a must, so only userGropId cannot be used as key.
 	 */
-	private LoadingCache<UserGroup, List<Chat>> chatsByUserGroupCache = CacheBuilder.newBuilder()
-			.build(new CacheLoader<UserGroup, List<Chat>>() {
-				public List<Chat> load(UserGroup userGroup) throws Exception {
-					return chatService.retrieveChats(userGroup);
-				}
-			});
+	private final LoadingCache<EventUserGroupKey, List<Chat>> chatsByUserGroupCache = Caffeine.newBuilder()
+			.maximumSize(1000)
+			.refreshAfterWrite(10, TimeUnit.MINUTES)
+			.recordStats()
+			.build(key -> chatService.retrieveChats(key.getEventId(), key.getUserGroupId()));
 	
 	/**
 	 * Cached last appearance datetime belongs to user loginName as key.
@@ -121,6 +187,47 @@ public class ApplicationService extends ServiceBase {
 	 */
 	private LoadingCache<String, LocalDateTime> lastAppearanceByUserIdCache = null;
 	
+	/**
+	 * Counter of the coalesced loads of {@link ApplicationService#topUsersCache}.
+	 */
+	private Counter topUsersCoalescedLoads = null;
+	
+	/**
+	 * Monitored caches by their names, see {@link ApplicationService#monitorCache(Cache, String)}.
+	 */
+	private final Map<String, Cache<?, ?>> cachesByName = new ConcurrentHashMap<>();
+	
+	/**
+	 * Sequence of the online/active state changes of the users, it is incremented whenever a user
+	 * appears or disappears in {@link ApplicationService#lastAppearanceByUserIdCache}.
+	 */
+	private final AtomicLong presenceSequence = new AtomicLong();
+	
+	/**
+	 * Last value of {@link ApplicationService#presenceSequence} belongs to the online/active state 
+	 * change of each user keyed by loginName. Its size is bounded by the number of users.
+	 */
+	private final Map<String, Long> presenceVersionsByUsername = new ConcurrentHashMap<>();
+	
+	/**
+	 * Versions of the event completion related cached values keyed by eventId, a version is 
+	 * incremented whenever the completion percent or the scheduled trigger start time list 
+	 * of its event changes.
+	 */
+	private final Map<Long, AtomicLong> eventCompletionVersionsByEventId = new ConcurrentHashMap<>();
+	
+	/**
+	 * Version of the completed events, it is incremented whenever an event becomes completed 
+	 * or incomplete again.
+	 */
+	private final AtomicLong completedEventsVersion = new AtomicLong();
+	
+	/**
+	 * Event level values last broadcast to the event topics by {@link ApplicationService#createEventDataDelta(Long)}
+	 * keyed by eventId. Only their changes are broadcast.
+	 */
+	private final ConcurrentMap<Long, SessionData> sentEventDataByEventId = new ConcurrentHashMap<>();
+	
 	/**
 	 * Initialization of cached fields
 	 */
@@ -128,18 +235,33 @@ public class ApplicationService extends ServiceBase {
 	public void initApplication() {
 		logger.info("ApplicationService: init");
 		
-		// initializes cachedEventCompletionPercentCache
-		List<Event> events = eventService.findAllEvents();
-		events.stream().forEach(e -> refreshEventCompletionPercentCache(e.getEventId()));
+		// exports statistics of the caches through the same metrics as of the Spring caches
+		monitorCache(eventIdsCache, CachingConfig.CACHE_EVENT_IDS);
+		monitorCache(eventCompletionPercentCache, CachingConfig.CACHE_EVENT_COMPLETION_PERCENT);
+		monitorCache(maximumScoreByEventCache, CachingConfig.CACHE_MAXIMUM_SCORE_BY_EVENT);
+		monitorCache(topUsersCache, CachingConfig.CACHE_TOP_USERS);
+		topUsersCoalescedLoads = CoalescingCaffeineCache.createCoalescedLoadsCounter(meterRegistry, CachingConfig.CACHE_TOP_USERS);
+		monitorCache(topUsersByEventCache, CachingConfig.CACHE_TOP_USERS_BY_EVENT);
+		monitorCache(retrieveMatchResultsJobTriggerStartTimesCache, CachingConfig.CACHE_RETRIEVE_MATCH_RESULTS_JOB_TRIGGER_START_TIMES);
+		monitorCache(chatsByUserGroupCache, CachingConfig.CACHE_CHATS_BY_USER_GROUP);
+		
+		// eventCompletionPercentCache and retrieveMatchResultsJobTriggerStartTimesCache are 
+		// warmed up after startup, see {@link ApplicationService#warmUpCaches()} method
 		
 		// define lastAppearanceByUserIdCache here because @Value annotation is not process yet during bean creation 
-		lastAppearanceByUserIdCache = CacheBuilder.newBuilder()
+		lastAppearanceByUserIdCache = Caffeine.newBuilder()
+				.maximumSize(10000)
 				.expireAfterWrite(Long.parseLong(appUserExpirationActivitySeconds), TimeUnit.SECONDS)
-				.build(new CacheLoader<String, LocalDateTime>() {
-					public LocalDateTime load(String username) throws Exception {
-						return getActualDateTime();
+				// expired users are removed and notified in time even without cache activity
+				.scheduler(Scheduler.systemScheduler())
+				.recordStats()
+				.<String, LocalDateTime>removalListener((username, lastAppearance, cause) -> {
+					if (cause != RemovalCause.REPLACED) {
+						incrementPresenceVersion(username);
 					}
-				});
+				})
+				.build(username -> getActualDateTime());
+		monitorCache(lastAppearanceByUserIdCache, CachingConfig.CACHE_LAST_APPEARANCE_BY_USER);
 		
 		// initializes topUsersCache - not used because the synchronously called loader function might be slow and does use applicationService (infinite loop)
 		// so it is placed to the SchedulerService, see {@link ApplicationService#databaseMaintenanceJob()} method
@@ -150,9 +272,67 @@ public class ApplicationService extends ServiceBase {
 //			consumeServiceException(e);
 //			throw new IllegalStateException(e.getMessage()); // fatal case 
 //		}
+	}
+
+	/**
+	 * Binds statistics of the given cache to the meter registry with the same tags 
+	 * as the caches of {@link CachingConfig#cacheManager()} have.
+	 * 
+	 * @param cache
+	 * @param cacheName
+	 */
+	private void monitorCache(Cache<?, ?> cache, String cacheName) {
+		cachesByName.put(cacheName, cache);
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName, Tags.of("cache.manager", "applicationService"));
+	}
+
+	/**
+	 * @return unmodifiable map of the monitored caches by their names
+	 */
+	public Map<String, Cache<?, ?>> getCachesByName() {
+		return Collections.unmodifiableMap(cachesByName);
+	}
+
+	/**
+	 * Warms up the caches belong to the last event in parallel after the application is ready,
+	 * so it does not delay the startup. Cached values of the historical events are loaded on
+	 * demand. Elapsed time of each warm-up is logged and exported as metrics.
+	 */
+	@Async
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUpCaches() {
+		logger.info("ApplicationService: warm-up");
+		
+		Map<String, Runnable> warmUpsByCache = new LinkedHashMap<>();
+		warmUpsByCache.put("eventIds", this::getEventIds);
+		Event lastEvent = eventService.findLastEvent();
+		if (lastEvent != null) {
+			Long eventId = lastEvent.getEventId();
+			warmUpsByCache.put("eventCompletionPercent", () -> refreshEventCompletionPercentCache(eventId));
+			warmUpsByCache.put("retrieveMatchResultsJobTriggerStartTimes", () -> retrieveMatchResultsJobTriggerStartTimesCache.get(eventId));
+		}
+		
+		Map<String, Long> elapsedMillisByCache = new ConcurrentHashMap<>();
+		long startTime = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			warmUpsByCache.forEach((cacheName, warmUp) -> executor.execute(() -> {
+				long cacheStartTime = System.nanoTime();
+				try {
+					warmUp.run();
+				} catch (RuntimeException e) {
+					logger.error(String.format("Warm-up of %s cache failed.", cacheName), e);
+				}
+				long elapsedNanos = System.nanoTime() - cacheStartTime;
+				Timer.builder("app.cache.warmup").tag("cache", cacheName).register(meterRegistry)
+						.record(elapsedNanos, TimeUnit.NANOSECONDS);
+				elapsedMillisByCache.put(cacheName, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+			}));
+		} // waits for the termination of the submitted warm-ups
 		
-		// initializes refreshRetrieveMatchResultsJobTriggerStartTimesCache
-		events.stream().forEach(e -> refreshRetrieveMatchResultsJobTriggerStartTimesCache(e.getEventId()));
+		warmUpsByCache.keySet().forEach(cacheName -> logger.info(String.format("ApplicationService: warm-up of %s cache took %d ms", 
+				cacheName, elapsedMillisByCache.getOrDefault(cacheName, -1L))));
+		logger.info(String.format("ApplicationService: warm-up finished in %d ms", 
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
 	}
 
 	/**
@@ -220,12 +400,36 @@ public class ApplicationService extends ServiceBase {
 		return appEmailAddr;
 	}
 
+	/**
+	 * Loads the value of the given key by the given loader in the caller thread and puts it
+	 * into the given cache. Unlike {@link LoadingCache#refresh(Object)}, which runs the loader
+	 * asynchronously in another transaction, it sees the not yet committed modifications of 
+	 * the caller transaction.
+	 * 
+	 * @param cache
+	 * @param key
+	 * @param loader - same as the loader of the cache
+	 * @return loaded value
+	 */
+	private <K, V> V reloadCache(Cache<K, V> cache, K key, CacheLoader<K, V> loader) {
+		V value;
+		try {
+			value = loader.load(key);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new CompletionException(e); // same as the refresh of the cache does
+		}
+		cache.put(key, value);
+		return value;
+	}
+
 	/**
 	 * Gets or loads complete percent values belongs to the given {@code eventId} parameter
 	 * in cache.
 	 */
 	public Integer getEventCompletionPercentCache(Long eventId) {
-		return eventCompletionPercentCache.getUnchecked(eventId);
+		return eventCompletionPercentCache.get(eventId);
 	}
 
 	/**
@@ -235,14 +439,61 @@ public class ApplicationService extends ServiceBase {
 	 * @param eventId
 	 */
 	public void refreshEventCompletionPercentCache(Long eventId) {
-		eventCompletionPercentCache.refresh(eventId);
+		Integer previousPercent = eventCompletionPercentCache.getIfPresent(eventId);
+		Integer percent = reloadCache(eventCompletionPercentCache, eventId, matchService::retriveMatchesAccomplishedInPercent);
+		if (!Objects.equals(previousPercent, percent)) {
+			incrementEventCompletionVersion(eventId);
+		}
+		if (Objects.equals(previousPercent, 100) != Objects.equals(percent, 100)) {
+			completedEventsVersion.incrementAndGet();
+		}
+		if (percent == null || percent != 100) {
+			maximumScoreByEventCache.invalidate(eventId);
+		}
+		else if (previousPercent != null && previousPercent != 100) {
+			// event has just been completed, during initialization it is loaded lazily 
+			reloadCache(maximumScoreByEventCache, eventId, betService::retrieveMaximumScoreByEvent);
+		}
+	}
+	
+	/**
+	 * Gets or loads theoretically maximum score of the given completed event in cache.
+	 * 
+	 * @param eventId - belongs to a completed event
+	 */
+	public int getMaximumScoreByEventCache(Long eventId) {
+		return maximumScoreByEventCache.get(eventId);
+	}
+	
+	/**
+	 * Invalidates maximum score of the given event in the {@link ApplicationService#maximumScoreByEventCache} 
+	 * cache.
+	 * 
+	 * @param eventId
+	 */
+	public void invalidateMaximumScoreByEventCache(Long eventId) {
+		maximumScoreByEventCache.invalidate(eventId);
 	}
 	
 	/**
 	 * Gets or loads topUsers list in cache.
 	 */
 	public List<UserCertificate> getTopUsersCache() {
-		return topUsersCache.getUnchecked(appShortName);
+		// concurrent callers of a missing value wait for a single load, they are counted
+		boolean isAbsent = topUsersCache.policy().getIfPresentQuietly(appShortName) == null;
+		AtomicBoolean isLoaded = new AtomicBoolean();
+		List<UserCertificate> topUsers = topUsersCache.get(appShortName, unused -> {
+			isLoaded.set(true);
+			try {
+				return userGroupService.retrieveTopUsers();
+			} catch (ServiceException e) {
+				throw new CompletionException(e); // same as the loader of the cache does
+			}
+		});
+		if (isAbsent && !isLoaded.get()) {
+			topUsersCoalescedLoads.increment();
+		}
+		return topUsers;
 	}
 	
 	/**
@@ -252,7 +503,26 @@ public class ApplicationService extends ServiceBase {
 	 * @param eventId
 	 */
 	public void refreshTopUsersCache() {
-		topUsersCache.refresh(appShortName);
+		reloadCache(topUsersCache, appShortName, unused -> userGroupService.retrieveTopUsers());
+	}
+
+	/**
+	 * Gets or loads topUsers list of the given completed event in cache.
+	 * 
+	 * @param eventId - belongs to a completed event
+	 */
+	public List<UserCertificate> getTopUsersByEventCache(Long eventId) {
+		return topUsersByEventCache.get(eventId);
+	}
+	
+	/**
+	 * Invalidates topUsers list of the given event in the {@link ApplicationService#topUsersByEventCache} 
+	 * cache, it is calculated again at next usage.
+	 * 
+	 * @param eventId
+	 */
+	public void invalidateTopUsersByEventCache(Long eventId) {
+		topUsersByEventCache.invalidate(eventId);
 	}
 
 	/**
@@ -268,14 +538,30 @@ public class ApplicationService extends ServiceBase {
 	 * @param eventId
 	 */
 	public void refreshRetrieveMatchResultsJobTriggerStartTimesCache(Long eventId) {
-		retrieveMatchResultsJobTriggerStartTimesCache.refresh(eventId);
+		retrieveMatchResultsJobTriggerStartTimesCache.put(eventId, new ArrayList<>());
+		incrementEventCompletionVersion(eventId);
+	}
+
+	/**
+	 * Adds the given trigger start time to the retrieveMatchResultsJobTriggerStartTimesCache 
+	 * belongs to the given eventId.
+	 * 
+	 * @param eventId
+	 * @param triggerStartTime
+	 */
+	public void addRetrieveMatchResultsJobTriggerStartTime(Long eventId, LocalDateTime triggerStartTime) {
+		retrieveMatchResultsJobTriggerStartTimesCache.get(eventId).add(triggerStartTime);
+		incrementEventCompletionVersion(eventId);
 	}
 	
 	/**
-	 * Gets or loads chatsByUserGroupCache list in cache.
+	 * Gets or loads chat list belongs to the given eventId and userGroupId in cache.
+	 * 
+	 * @param eventId
+	 * @param userGroupId - it may be the virtual UserGroup.EVERYBODY_USER_GROUP_ID
 	 */
-	public LoadingCache<UserGroup, List<Chat>> getChatsByUserGroupCache() {
-		return chatsByUserGroupCache;
+	public List<Chat> getChatsByUserGroupCache(Long eventId, Long userGroupId) {
+		return chatsByUserGroupCache.get(new EventUserGroupKey(eventId, userGroupId));
 	}
 
 	/**
@@ -284,7 +570,8 @@ public class ApplicationService extends ServiceBase {
 	 * @param userGroup
 	 */
 	public void refreshChatsByUserGroupCache(UserGroup userGroup) {
-		chatsByUserGroupCache.refresh(userGroup);
+		reloadCache(chatsByUserGroupCache, new EventUserGroupKey(userGroup.getEvent().getEventId(), userGroup.getUserGroupId()),
+				key -> chatService.retrieveChats(key.getEventId(), key.getUserGroupId()));
 	}
 	
 	/**
@@ -300,7 +587,117 @@ public class ApplicationService extends ServiceBase {
 	 * @param loginName
 	 */
 	public void refreshLastAppearanceByUserCache(String username) {
-		lastAppearanceByUserIdCache.refresh(username);
+		if (lastAppearanceByUserIdCache.getIfPresent(username) == null) {
+			incrementPresenceVersion(username); // user has just appeared
+		}
+		lastAppearanceByUserIdCache.put(username, getActualDateTime());
+	}
+
+	/**
+	 * Marks the online/active state change of the given user.
+	 * 
+	 * @param username - loginName of the user
+	 */
+	private void incrementPresenceVersion(String username) {
+		presenceVersionsByUsername.put(username, presenceSequence.incrementAndGet());
+	}
+
+	/**
+	 * Returns the version of the online/active states of the given users. It changes whenever 
+	 * the state of any of them changes, the state changes of other users do not affect it.
+	 * 
+	 * @param usernames - loginNames of the users
+	 * @return actual version of the online/active states of the given users
+	 */
+	public long getPresenceVersion(Collection<String> usernames) {
+		checkNotNull(usernames);
+		// each change gets a new maximum value from the common sequence
+		return usernames.stream().mapToLong(e -> presenceVersionsByUsername.getOrDefault(e, 0L)).max().orElse(0L);
+	}
+
+	/**
+	 * Marks the change of the event completion related cached values of the given event.
+	 * 
+	 * @param eventId
+	 */
+	private void incrementEventCompletionVersion(Long eventId) {
+		eventCompletionVersionsByEventId.computeIfAbsent(eventId, k -> new AtomicLong()).incrementAndGet();
+	}
+
+	/**
+	 * @param eventId
+	 * @return actual version of the event completion percent and scheduled trigger start 
+	 *         times of the given event
+	 */
+	public long getEventCompletionVersion(Long eventId) {
+		checkNotNull(eventId);
+		AtomicLong version = eventCompletionVersionsByEventId.get(eventId);
+		return version != null ? version.get() : 0L;
+	}
+
+	/**
+	 * Fingerprint of the eventCompletionPercent, completedEventIds and eventTriggerStartTimes 
+	 * values of the given event.
+	 * 
+	 * @param eventId
+	 * @return fingerprint of the event completion
+	 */
+	public String createEventCompletionFingerprint(Long eventId) {
+		checkNotNull(eventId);
+		return String.format("%d:%d@%d.%d", cacheEntryVersions.getEpoch(), eventId, getEventCompletionVersion(eventId), 
+				completedEventsVersion.get());
+	}
+
+	/**
+	 * Collects the changes of the event level values, which are identical for all users of 
+	 * the given event, since their last broadcast. These are the event completion percent, 
+	 * completed events and scheduled trigger start times. The returned instance has no id,
+	 * it contains only the changed values and their flags in its modification set.
+	 * 
+	 * @param eventId
+	 * @return sessionData containing the changes or {@code null} if nothing has changed
+	 */
+	public SessionData createEventDataDelta(Long eventId) {
+		checkNotNull(eventId);
+		
+		SessionData eventData = new SessionData(null);
+		eventData.setOperationFlag(SessionDataOperationFlag.SERVER_DELTA);
+		String eventCompletionFingerprint = createEventCompletionFingerprint(eventId); // taken before the values
+		Integer eventCompletionPercent = getEventCompletionPercentCache(eventId);
+		List<Long> completedEventIds = List.copyOf(getCompletedEventIds());
+		List<LocalDateTime> triggerStartTimes = retrieveMatchResultsJobTriggerStartTimesCache.getIfPresent(eventId);
+		List<LocalDateTime> eventTriggerStartTimes = triggerStartTimes != null ? List.copyOf(triggerStartTimes) : List.of();
+		
+		// values are compared to and recorded as the last sent ones atomically per event, other events are not blocked
+		sentEventDataByEventId.compute(eventId, (k, sentEventData) -> {
+			if (sentEventData == null) {
+				sentEventData = new SessionData(null);
+			}
+			if (!Objects.equals(eventCompletionPercent, sentEventData.getEventCompletionPercent())) {
+				eventData.setEventCompletionPercent(eventCompletionPercent);
+				eventData.getModificationSet().add(SessionDataModificationFlag.EVENT_COMPLETION_PERCENT);
+				sentEventData.setEventCompletionPercent(eventCompletionPercent);
+			}
+			if (!completedEventIds.equals(sentEventData.getCompletedEventIds())) {
+				eventData.setCompletedEventIds(completedEventIds);
+				eventData.getModificationSet().add(SessionDataModificationFlag.COMPLETED_EVENT_IDS);
+				sentEventData.setCompletedEventIds(completedEventIds);
+			}
+			if (!eventTriggerStartTimes.equals(sentEventData.getEventTriggerStartTimes())) {
+				eventData.setEventTriggerStartTimes(eventTriggerStartTimes);
+				eventData.getModificationSet().add(SessionDataModificationFlag.EVENT_TRIGGER_START_TIMES);
+				sentEventData.setEventTriggerStartTimes(eventTriggerStartTimes);
+			}
+			return sentEventData;
+		});
+		
+		if (eventData.getModificationSet().isEmpty()) {
+			return null;
+		}
+		eventData.getFingerprints().put(SessionDataModificationFlag.EVENT_COMPLETION_PERCENT, eventCompletionFingerprint);
+		eventData.setActualDateTime(getActualDateTime());
+		eventData.getModificationSet().add(SessionDataModificationFlag.ACTUAL_DATE_TIME);
+		return eventData;
 	}
 	
 	/**
@@ -308,10 +705,15 @@ public class ApplicationService extends ServiceBase {
 	 * @return eventId list of all completed Event entities
 	 */
 	public List<Long> getCompletedEventIds() {
-		List<Long> eventIds = new ArrayList<>();
-		eventIds.addAll(this.eventCompletionPercentCache.asMap().keySet());
-		eventIds = eventIds.stream().filter(e -> this.eventCompletionPercentCache.getUnchecked(e) == 100).toList();
-		return eventIds;
+		return getEventIds().stream().filter(e -> this.eventCompletionPercentCache.get(e) == 100).toList();
+	}
+
+	/**
+	 * Returns ids of all events from cache, a newly created event appears after the next refresh.
+	 * @return eventId list of all Event entities
+	 */
+	private List<Long> getEventIds() {
+		return eventIdsCache.get(appShortName);
 	}
 
 	/**
@@ -11,6 +11,7 @@ import java.util.Map;
 
 import jakarta.inject.Inject;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +26,7 @@ import com.zematix.jworldcup.backend.entity.UserOfEvent;
 import com.zematix.jworldcup.backend.exception.ServiceException;
 import com.zematix.jworldcup.backend.model.Pair;
 import com.zematix.jworldcup.backend.model.ParameterizedMessage;
+import com.zematix.jworldcup.backend.model.PublishedEvent;
 import com.zematix.jworldcup.backend.util.CommonUtil;
 
 /**
@@ -51,6 +53,12 @@ public class BetService extends ServiceBase {
 	@Inject 
 	private CommonDao commonDao;
 
+	@Inject
+	private ScoreLedgerService scoreLedgerService;
+
+	@Inject
+	private ApplicationEventPublisher applicationEventPublisher;
+
 	/**
 	 * Returns a list of found {@link Bet} instances with the provided {@code eventId}
 	 * and {@code userId}.
@@ -74,21 +82,7 @@ public class BetService extends ServiceBase {
 			bet.setScore(retrieveScoreByBet(bet, favouriteTeamIds));
 			bet.setFavouriteTeamIndex(retrieveFavouriteTeamIndexByBet(bet, favouriteTeamIds));
 		}
-		
-		// forced lazy fetch
-		for (Bet bet: bets) {
-			Match match = bet.getMatch();
-			if (match.getTeam1() != null) {
-				match.getTeam1().getName();
-				match.getTeam1().getGroup().getName();
-			}
-			if (match.getTeam2() != null) {
-				match.getTeam2().getName();
-				match.getTeam2().getGroup().getName();
-			}
-			bet.getUser().getLoginName();
-			bet.getUser().getRoles().size();
-		}
+		// match teams with their groups and user roles are already fetched by the query
 
 		return bets;
 	}
@@ -104,25 +98,13 @@ public class BetService extends ServiceBase {
 		
 		List<ParameterizedMessage> errMsgs = new ArrayList<>();
 		
-		Bet bet = commonDao.findEntityById(Bet.class, betId);
+		// match teams with their groups and user roles are fetched by the query
+		Bet bet = betDao.findBetById(betId);
 		if (bet == null) {
 			errMsgs.add(ParameterizedMessage.create("MISSING_TIP"));
 			throw new ServiceException(errMsgs);
 		}
 
-		// forced lazy fetch
-		Match match = bet.getMatch();
-		if (match.getTeam1() != null) {
-			match.getTeam1().getName();
-			match.getTeam1().getGroup().getName();
-		}
-		if (match.getTeam2() != null) {
-			match.getTeam2().getName();
-			match.getTeam2().getGroup().getName();
-		}
-		bet.getUser().getLoginName();
-		bet.getUser().getRoles().size();
-
 		bet.setScore(retrieveScoreByBet(bet, null));
 		bet.setFavouriteTeamIndex(retrieveFavouriteTeamIndexByBet(bet, null));
 		
@@ -142,23 +124,9 @@ public class BetService extends ServiceBase {
 		checkNotNull(matchId);
 		checkNotNull(userGroupId);
 		
+		// match teams with their groups and user roles are fetched by the query
 		List<Bet> bets = betDao.retrieveBetsByMatchAndUserGroup(matchId, userGroupId);
 		
-		// forced lazy fetch
-		for (Bet bet: bets) {
-			Match match = bet.getMatch();
-			if (match.getTeam1() != null) {
-				match.getTeam1().getName();
-				match.getTeam1().getGroup().getName();
-			}
-			if (match.getTeam2() != null) {
-				match.getTeam2().getName();
-				match.getTeam2().getGroup().getName();
-			}
-			bet.getUser().getLoginName();
-			bet.getUser().getRoles().size();
-		}
-		
 		for (Bet bet: bets) {
 			bet.setScore(retrieveScoreByBet(bet, null));
 			bet.setFavouriteTeamIndex(retrieveFavouriteTeamIndexByBet(bet, null));
@@ -218,22 +186,25 @@ public class BetService extends ServiceBase {
 			bet.setGoalNormalByTeam1(goalNormal1);
 			bet.setGoalNormalByTeam2(goalNormal2);
 			commonDao.persistEntity(bet);
+			applicationEventPublisher.publishEvent(new PublishedEvent<>(bet));
 		} else {
 			if (goalNormal1 == null && goalNormal2 == null) {
 				// removing existing bet
 				bet = commonDao.findEntityById(Bet.class, betId);
 				commonDao.removeEntity(bet);
+				applicationEventPublisher.publishEvent(new PublishedEvent<>(bet));
 				bet = null;
 			} else {
-				// updating existing bet
-				bet = commonDao.findEntityById(Bet.class, betId);
+				// updating existing bet, match teams with their groups and user roles are fetched
+				bet = betDao.findBetById(betId);
 				bet.setGoalNormalByTeam1(goalNormal1);
 				bet.setGoalNormalByTeam2(goalNormal2);
+				applicationEventPublisher.publishEvent(new PublishedEvent<>(bet));
 			}
 		}
 
 		if (bet != null) {
-			// forced lazy fetch
+			// forced lazy fetch, in fact needed only for a created bet
 			Match match = bet.getMatch();
 			if (match.getTeam1() != null) {
 				match.getTeam1().getName();
@@ -285,6 +256,9 @@ public class BetService extends ServiceBase {
 
 		// update match table
 		commonDao.removeEntity(bet);
+		
+		// After successful transaction commit the dependent cached scores are invalidated
+		applicationEventPublisher.publishEvent(new PublishedEvent<>(bet));
 	}
 	
 	/**
@@ -374,7 +348,8 @@ public class BetService extends ServiceBase {
 
 	/**
 	 * Returns calculated score gained by given {@code userId} user on given 
-	 * {@code eventID} event.
+	 * {@code eventID} event. The score is read from the score ledger if it is
+	 * enabled, see {@link ScoreLedgerService}.
 	 * 
 	 *  @param eventId
 	 *  @param userId
@@ -384,6 +359,10 @@ public class BetService extends ServiceBase {
 		checkNotNull(eventId);
 		checkNotNull(userId);
 
+		if (scoreLedgerService.isScoreLedgerEnabled()) {
+			return scoreLedgerService.retrieveScoreByEventAndUser(eventId, userId);
+		}
+
 		List<Bet> bets = retrieveBetsByEventAndUser(eventId, userId);
 		return bets.stream().mapToInt(Bet::getScore).sum();
 	}
@@ -70,7 +70,23 @@ public class ChatService extends ServiceBase {
 	public List<Chat> retrieveChats(UserGroup userGroup) throws ServiceException {
 		checkNotNull(userGroup);
 		
-		List<Chat> chats = chatDao.retrieveChats(userGroup.getEvent().getEventId(), userGroup.getUserGroupId());
+		return retrieveChats(userGroup.getEvent().getEventId(), userGroup.getUserGroupId());
+	}
+
+	/**
+	 * Returns a list of {@link Chat} instances which belongs to the 
+	 * given {@code eventId} and {@code userGroupId}.
+	 * 
+	 * @param eventId - filter
+	 * @param userGroupId - filter, it may be the virtual UserGroup.EVERYBODY_USER_GROUP_ID
+	 * @return list of chats which belongs to the eventId and userGroupId
+	 */
+	@Transactional(readOnly = true)
+	public List<Chat> retrieveChats(Long eventId, Long userGroupId) throws ServiceException {
+		checkNotNull(eventId);
+		checkNotNull(userGroupId);
+		
+		List<Chat> chats = chatDao.retrieveChats(eventId, userGroupId);
 		
 		// forced lazy fetch
 		chats.stream().forEach(e -> {
@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
@@ -57,6 +59,15 @@ public class GroupService extends ServiceBase {
 
 	@Value("${app.shortName}")
 	private String appShortName;
+
+	@Value("${app.group.standings.cache.enabled:true}")
+	private String appGroupStandingsCacheEnabled;
+
+	/**
+	 * Ranked teams of the groups keyed by groupId, elements must not be modified.
+	 * An entry is dropped if the result of a match of the group changes.
+	 */
+	private final ConcurrentMap<Long, List<GroupTeam>> rankedGroupTeamsByGroupId = new ConcurrentHashMap<>();
 		
 	/**
 	 * Return a list of {@link Group} instances belongs to the given {@link Event#eventId} 
@@ -85,21 +96,26 @@ public class GroupService extends ServiceBase {
 	public List<GroupTeam> getRankedGroupTeamsByGroup(Long groupId) throws ServiceException{
 		checkNotNull(groupId);
 		
-		Group group = commonDao.findEntityById(Group.class, groupId);
-		List<GroupTeam> groupTeams = new ArrayList<>();
-		for (Team team : group.getTeams()) {
-			team.getEvent().getEventId();
-			List<Match> playedMatches = matchService.retrieveFinishedGroupMatchesByTeam(team.getTeamId());
-			GroupTeam groupTeam = new GroupTeam(team, playedMatches);
-			groupTeams.add(groupTeam);
+		List<GroupTeam> rankedGroupTeams = isGroupStandingsCacheEnabled() ? rankedGroupTeamsByGroupId.get(groupId) : null;
+		if (rankedGroupTeams == null) {
+			Group group = commonDao.findEntityById(Group.class, groupId);
+			Map<Long, List<Match>> playedMatchesByTeamId = new HashMap<>();
+			for (Team team : group.getTeams()) {
+				playedMatchesByTeamId.put(team.getTeamId(), matchService.retrieveFinishedGroupMatchesByTeam(team.getTeamId()));
+			}
+			rankedGroupTeams = rankGroupTeams(group, playedMatchesByTeamId);
+			if (isGroupStandingsCacheEnabled()) {
+				rankedGroupTeamsByGroupId.putIfAbsent(groupId, rankedGroupTeams);
+			}
 		}
-		/*boolean hasEqualRankings =*/ groupTeamService.sortGroupTeams(groupTeams);
-		return groupTeams;
+		return copyGroupTeams(rankedGroupTeams);
 	}
 	
 	/**
 	 * Returns a list of {@link GroupTeam} instances belongs to the provided
 	 * {@link Event#getEventId() event. The list is sorted by its group and position inside its group.
+	 * If any group is missing from the standings cache, all finished group matches of the 
+	 * event are retrieved in one query.
 	 *
 	 * @param groupId
 	 * @return a list of ranked teams belongs to the provided group
@@ -109,21 +125,91 @@ public class GroupService extends ServiceBase {
 		checkNotNull(eventId);
 		List<GroupTeam> result = new ArrayList<>();
 		
+		Map<Long, List<Match>> playedMatchesByTeamId = null;
 		List<Group> groups = retrieveGroupsByEvent(eventId);
 		for (Group group: groups) {
-			List<GroupTeam> groupTeams = new ArrayList<>();
-			for (Team team : group.getTeams()) {
-				team.getEvent().getEventId();
-				List<Match> playedMatches = matchService.retrieveFinishedGroupMatchesByTeam(team.getTeamId());
-				GroupTeam groupTeam = new GroupTeam(team, playedMatches);
-				groupTeams.add(groupTeam);
+			List<GroupTeam> rankedGroupTeams = isGroupStandingsCacheEnabled() ? rankedGroupTeamsByGroupId.get(group.getGroupId()) : null;
+			if (rankedGroupTeams == null) {
+				if (playedMatchesByTeamId == null) {
+					// finished group matches of all teams are retrieved at once
+					playedMatchesByTeamId = new HashMap<>();
+					for (Match match : matchService.retrieveFinishedGroupMatchesByEvent(eventId)) {
+						playedMatchesByTeamId.computeIfAbsent(match.getTeam1().getTeamId(), k -> new ArrayList<>()).add(match);
+						playedMatchesByTeamId.computeIfAbsent(match.getTeam2().getTeamId(), k -> new ArrayList<>()).add(match);
+					}
+				}
+				rankedGroupTeams = rankGroupTeams(group, playedMatchesByTeamId);
+				if (isGroupStandingsCacheEnabled()) {
+					rankedGroupTeamsByGroupId.putIfAbsent(group.getGroupId(), rankedGroupTeams);
+				}
 			}
-			groupTeamService.sortGroupTeams(groupTeams);
-			result.addAll(groupTeams);
+			result.addAll(copyGroupTeams(rankedGroupTeams));
 		}
 		return result;
 	}
 	
+	/**
+	 * Drops the cached standings of the group of the given match, it must be called
+	 * after the result of the match is modified. Knockout matches do not affect the 
+	 * standings.
+	 * 
+	 * @param matchId - recently updated {@link Match} instance
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public void invalidateRankedGroupTeamsByMatch(Long matchId) {
+		checkNotNull(matchId);
+		
+		Match match = commonDao.findEntityById(Match.class, matchId);
+		if (match == null || match.getTeam1() == null
+				|| !Boolean.TRUE.equals(match.getRound().getIsGroupmatchAsBoolean())) {
+			return;
+		}
+		rankedGroupTeamsByGroupId.remove(match.getTeam1().getGroup().getGroupId());
+	}
+	
+	/**
+	 * Returns {@code true} if the ranked teams of the groups are cached.
+	 * 
+	 * @return {@code true} if the group standings cache is enabled
+	 */
+	public boolean isGroupStandingsCacheEnabled() {
+		return Boolean.valueOf(appGroupStandingsCacheEnabled);
+	}
+	
+	/**
+	 * Creates and sorts {@link GroupTeam} instances of the teams of the given group.
+	 * 
+	 * @param group
+	 * @param playedMatchesByTeamId - finished group matches keyed by teamId
+	 * @return list of ranked teams of the given group
+	 */
+	private List<GroupTeam> rankGroupTeams(Group group, Map<Long, List<Match>> playedMatchesByTeamId) {
+		List<GroupTeam> groupTeams = new ArrayList<>();
+		for (Team team : group.getTeams()) {
+			team.getEvent().getEventId();
+			List<Match> playedMatches = playedMatchesByTeamId.getOrDefault(team.getTeamId(), new ArrayList<>());
+			GroupTeam groupTeam = new GroupTeam(team, playedMatches);
+			groupTeams.add(groupTeam);
+		}
+		/*boolean hasEqualRankings =*/ groupTeamService.sortGroupTeams(groupTeams);
+		return groupTeams;
+	}
+	
+	/**
+	 * Returns copies of the given {@link GroupTeam} elements, because cached elements
+	 * must not be modified, e.g. by {@link GroupTeamService#sortGroupTeamsOnPosition(List)}.
+	 * 
+	 * @param groupTeams
+	 * @return list of copied elements
+	 */
+	private List<GroupTeam> copyGroupTeams(List<GroupTeam> groupTeams) {
+		List<GroupTeam> copies = new ArrayList<>(groupTeams.size());
+		for (GroupTeam groupTeam : groupTeams) {
+			copies.add(new GroupTeam(groupTeam));
+		}
+		return copies;
+	}
+	
 	/**
 	 * Returns a constructed map containing all {@link Team} instances of the provided 
 	 * {@link Event#getEventId()} where the key are {@link GroupPosition} instances.
@@ -140,13 +226,14 @@ public class GroupService extends ServiceBase {
 		
 		Event event = commonDao.findEntityById(Event.class, eventId);
 		List<Group> groups = retrieveGroupsByEvent(eventId);
+		List<GroupPosition> groupPositions = retrieveGroupPositionsOfParticipantRules(eventId); 
+		// best teams on a position are the same for all groups
+		Map<Integer, List<GroupTeam>> bestGroupTeamsByPosition = new HashMap<>();
 		for (Group group : groups) {
 			List<GroupTeam> rankedGroupTeams = getRankedGroupTeamsByGroup(group.getGroupId());
 			if (!groupTeamService.isGroupFinished(rankedGroupTeams)) {
 				continue;
 			}
-			List<GroupTeam> bestGroupTeams = new ArrayList<>();
-			List<GroupPosition> groupPositions = retrieveGroupPositionsOfParticipantRules(eventId); 
 			for (GroupPosition groupPosition : groupPositions) {
 				if (groupPosition.getGroupName().equals(group.getName())) {
 					// single group name
@@ -157,8 +244,10 @@ public class GroupService extends ServiceBase {
 				}
 				else if (groupPosition.getGroupName().length() > 1) {
 					// multiple group name, only some events (tournaments) support it
-					if (bestGroupTeams.isEmpty()) {
+					List<GroupTeam> bestGroupTeams = bestGroupTeamsByPosition.get(groupPosition.getPosition());
+					if (bestGroupTeams == null) {
 						bestGroupTeams = retrieveBestTeamsOnGroupPosition(eventId, groupPosition.getPosition(), groups.size()-groupPosition.getGroupName().length()+1);
+						bestGroupTeamsByPosition.put(groupPosition.getPosition(), bestGroupTeams);
 					}
 					for (GroupTeam groupTeam : bestGroupTeams) {
 						if (groupPosition.getGroupName().contains(groupTeam.getTeam().getGroup().getName())) {
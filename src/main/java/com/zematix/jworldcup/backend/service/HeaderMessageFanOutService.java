@@ -0,0 +1,107 @@
+package com.zematix.jworldcup.backend.service;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.context.MessageSource;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.stereotype.Service;
+
+import com.zematix.jworldcup.backend.configuration.SessionListener;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.model.ParameterizedMessage;
+
+/**
+ * Distributes header messages to the header message queues of all authenticated
+ * sessions. The messages are localized only once per locale, then they are
+ * appended to the queues of the sessions with that locale.
+ */
+@Service
+public class HeaderMessageFanOutService extends ServiceBase {
+
+	/**
+	 * priority of the match result header messages
+	 */
+	private static final int MATCH_RESULT_PRIORITY = 5;
+
+	@Inject
+	private ApplicationService applicationService;
+
+	@Inject
+	private MessageSource msgs;
+
+	/**
+	 * Appends header messages of the given updated matches to the header message
+	 * queues of all authenticated sessions.
+	 *
+	 * @param matches - updated matches
+	 */
+	public void fanOutMatchResults(List<Match> matches) {
+		checkNotNull(matches);
+
+		if (matches.isEmpty()) {
+			return;
+		}
+
+		Map<Locale, List<SessionService>> sessionServicesByLocale = getSessionServicesByLocale();
+		LocalDateTime creationTime = applicationService.getActualDateTime();
+		sessionServicesByLocale.forEach((locale, sessionServices) -> {
+			List<String> messages = matches.stream().map(match -> createMatchResultMessage(match, locale)).toList();
+			sessionServices.forEach(sessionService ->
+				sessionService.pushHeaderMessages(messages, MATCH_RESULT_PRIORITY, creationTime));
+		});
+		logger.info("fanOutMatchResults matches: {}, locales: {}, sessions: {}", matches.size(),
+				sessionServicesByLocale.size(), sessionServicesByLocale.values().stream().mapToInt(List::size).sum());
+	}
+
+	/**
+	 * Returns the localized header message of the given match result.
+	 *
+	 * @param match - match with result
+	 * @param locale - locale of the message
+	 * @return localized match result message
+	 */
+	public String createMatchResultMessage(Match match, Locale locale) {
+		checkNotNull(match);
+
+		String teamName1 = ParameterizedMessage.create("team."+match.getTeam1().getName()).buildMessage(msgs, locale);
+		String teamName2 = ParameterizedMessage.create("team."+match.getTeam2().getName()).buildMessage(msgs, locale);
+		return ParameterizedMessage.create("header.label.match_result", teamName1, teamName2,
+				match.getGoalNormalByTeam1(), match.getGoalNormalByTeam2()).buildMessage(msgs, locale);
+	}
+
+	/**
+	 * Collects the session services of all authenticated sessions grouped by their locale
+	 * in a single pass. A session belonging to more principals is contained only once.
+	 *
+	 * @return map of session services keyed by their locale
+	 */
+	private Map<Locale, List<SessionService>> getSessionServicesByLocale() {
+		Map<String, HttpSession> sessionsById = new LinkedHashMap<>();
+		for (org.springframework.security.core.userdetails.User user : applicationService.getAllAuthenticatedPrincipals()) {
+			applicationService.getAllAuthenticatedSessions(user).stream().map(SessionInformation::getSessionId)
+					.map(SessionListener::getSession).filter(Objects::nonNull)
+					.forEach(session -> sessionsById.putIfAbsent(session.getId(), session));
+		}
+
+		Map<Locale, List<SessionService>> sessionServicesByLocale = new HashMap<>();
+		for (HttpSession session : sessionsById.values()) {
+			SessionService sessionService = (SessionService)session.getAttribute("scopedTarget.sessionService");
+			if (sessionService != null) {
+				sessionServicesByLocale.computeIfAbsent(sessionService.getLocale(), k -> new ArrayList<>()).add(sessionService);
+			}
+		}
+		return sessionServicesByLocale;
+	}
+}
@@ -0,0 +1,72 @@
+package com.zematix.jworldcup.backend.service;
+
+import jakarta.inject.Inject;
+
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.zematix.jworldcup.backend.entity.Bet;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.entity.UserOfEvent;
+import com.zematix.jworldcup.backend.model.LeaderboardSnapshot;
+import com.zematix.jworldcup.backend.model.PublishedEvent;
+
+/**
+ * Asynchron called methods rebuilding {@link LeaderboardSnapshot} elements after
+ * committed modifications which may change the scores of the users.
+ */
+@Service
+@Transactional
+public class LeaderboardAsyncService extends ServiceBase {
+
+	@Inject
+	private LeaderboardService leaderboardService;
+
+	/**
+	 * Invoked from {@link MatchService#onUpdateMatchEvent(Match)} and
+	 * {@link MatchService#onMatchdataUpdateEvent(Match)} after the score ledger is
+	 * updated by the saved match, so the rebuilt snapshot contains its new scores.
+	 *
+	 * @param eventId
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	@Async
+	public void onUpdateMatchEvent(Long eventId) {
+		rebuildLeaderboardSnapshot(eventId);
+	}
+
+	/**
+	 * Invoked after commit of a transaction where the given {@link Bet} was saved or deleted.
+	 *
+	 * @param event - contains the saved or deleted bet
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	@Async
+	@TransactionalEventListener
+	public void onUpdateBetEvent(@NonNull PublishedEvent<Bet> event) {
+		rebuildLeaderboardSnapshot(event.getEntity().getEvent().getEventId());
+	}
+
+	/**
+	 * Invoked after commit of a transaction where the given {@link UserOfEvent} was saved,
+	 * its favourite teams might be changed.
+	 *
+	 * @param event - contains the saved userOfEvent
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+	@Async
+	@TransactionalEventListener
+	public void onUpdateUserOfEventEvent(@NonNull PublishedEvent<UserOfEvent> event) {
+		rebuildLeaderboardSnapshot(event.getEntity().getEvent().getEventId());
+	}
+
+	private void rebuildLeaderboardSnapshot(Long eventId) {
+		if (leaderboardService.isLeaderboardSnapshotEnabled()) {
+			leaderboardService.rebuildLeaderboardSnapshot(eventId);
+		}
+	}
+}
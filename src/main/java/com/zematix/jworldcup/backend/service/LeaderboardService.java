@@ -0,0 +1,464 @@
+package com.zematix.jworldcup.backend.service;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.inject.Inject;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.google.common.primitives.Ints;
+import com.zematix.jworldcup.backend.dao.BetDao;
+import com.zematix.jworldcup.backend.dao.UserGroupDao;
+import com.zematix.jworldcup.backend.dao.UserOfEventDao;
+import com.zematix.jworldcup.backend.entity.Bet;
+import com.zematix.jworldcup.backend.entity.Event;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.entity.User;
+import com.zematix.jworldcup.backend.entity.UserGroup;
+import com.zematix.jworldcup.backend.entity.UserOfEvent;
+import com.zematix.jworldcup.backend.model.LeaderboardSnapshot;
+import com.zematix.jworldcup.backend.model.LineChartData;
+import com.zematix.jworldcup.backend.model.LineChartDataset;
+import com.zematix.jworldcup.backend.model.Pair;
+import com.zematix.jworldcup.backend.model.UserPosition;
+import com.zematix.jworldcup.backend.util.CommonUtil;
+import com.zematix.jworldcup.backend.util.RankingUtil;
+
+/**
+ * Leaderboard engine of user groups. Instead of scoring the users one by one it loads
+ * all users, bets (with their matches) and favourite teams of a user group by a fixed
+ * number of set based queries and scores all bets in memory in one pass.
+ * It also contains the in-memory scoring of bets shared with {@link ScoreLedgerService}.
+ * <p>
+ * The leaderboard of the virtual Everybody userGroup is kept as an immutable
+ * {@link LeaderboardSnapshot} by events. Its scores are taken from the score ledger
+ * of {@link ScoreLedgerService} if it is enabled. It is rebuilt asynchronously by
+ * {@link LeaderboardAsyncService} after match result, bet and favourite team changes,
+ * and the leaderboards of the other userGroups are filtered from it.
+ */
+@Service
+@Transactional
+public class LeaderboardService extends ServiceBase {
+
+	/**
+	 * Orders user positions by their scores descending
+	 */
+	public static final Comparator<UserPosition> USER_POSITION_COMPARATOR = (a, b) -> -1*Integer.valueOf(a.getScore()).compareTo(b.getScore());
+
+	@Inject
+	private UserGroupDao userGroupDao;
+
+	@Inject
+	private BetDao betDao;
+
+	@Inject
+	private UserOfEventDao userOfEventDao;
+
+	@Inject
+	private MatchService matchService;
+
+	@Inject
+	private ScoreLedgerService scoreLedgerService;
+
+	@Value("${app.leaderboard.engine.enabled:true}")
+	private String appLeaderboardEngineEnabled;
+
+	@Value("${app.leaderboard.snapshot.enabled:true}")
+	private String appLeaderboardSnapshotEnabled;
+
+	/**
+	 * Built leaderboard snapshots of the Everybody userGroup by eventId
+	 */
+	private final ConcurrentMap<Long, LeaderboardSnapshot> leaderboardSnapshotsByEventId = new ConcurrentHashMap<>();
+
+	/**
+	 * EventIds whose snapshot rebuild is requested but not started yet
+	 */
+	private final Set<Long> pendingRebuildEventIds = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Locks serializing the rebuilds of the same snapshot by eventId, readers of the
+	 * snapshots are never blocked by them
+	 */
+	private final ConcurrentMap<Long, Object> rebuildLocksByEventId = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of the rebuild requests so far, a snapshot built meanwhile for the first
+	 * time might miss a change therefore it is not kept
+	 */
+	private final AtomicLong rebuildRequestCount = new AtomicLong();
+
+	/**
+	 * Returns {@code true} if leaderboard engine usage is enabled, {@code false} otherwise.
+	 * @return {@code true} if leaderboard engine usage is enabled, {@code false} otherwise
+	 */
+	public boolean isLeaderboardEngineEnabled() {
+		return Boolean.valueOf(appLeaderboardEngineEnabled);
+	}
+
+	/**
+	 * Returns {@code true} if leaderboard snapshot usage is enabled, {@code false} otherwise.
+	 * @return {@code true} if leaderboard snapshot usage is enabled, {@code false} otherwise
+	 */
+	public boolean isLeaderboardSnapshotEnabled() {
+		return Boolean.valueOf(appLeaderboardSnapshotEnabled);
+	}
+
+	/**
+	 * Returns a list of {@link UserPosition} instances with calculated scores which belong
+	 * to the given {@link Event#eventId} and {@link UserGroup#userGroupId}. The elements
+	 * are ordered by login name of their users, their positions are not set.
+	 * The whole calculation needs 3 queries independently of the size of the userGroup.
+	 *
+	 * @param eventId - filter for {@link Event}
+	 * @param userGroupId - filter for {@link UserGroup}, it may be virtual Everybody
+	 * @return list of unsorted userPositions which belongs to the given eventId and userGroupId
+	 */
+	@Transactional(readOnly = true)
+	public List<UserPosition> retrieveUserPositions(Long eventId, Long userGroupId) {
+		checkNotNull(eventId);
+		checkNotNull(userGroupId);
+
+		List<User> users = userGroupDao.retrieveUsersWithBetsByUserGroup(userGroupId, eventId);
+		List<Bet> bets = retrieveBetsByUserGroup(eventId, userGroupId);
+		Map<Long, Pair<Long>> favouriteTeamIdsByUserId = retrieveFavouriteTeamIdsByUserGroup(eventId, userGroupId);
+
+		Map<Long, Integer> scoresByUserId = new HashMap<>();
+		for (Bet bet : bets) {
+			Long userId = bet.getUser().getUserId();
+			scoresByUserId.merge(userId, retrieveScoreByBet(bet, favouriteTeamIdsByUserId.get(userId)), Integer::sum);
+		}
+
+		List<UserPosition> userPositions = new ArrayList<>(users.size());
+		for (User user : users) {
+			UserPosition userPosition = new UserPosition();
+			userPosition.setUserId(user.getUserId());
+			userPosition.setLoginName(user.getLoginName());
+			userPosition.setFullName(user.getFullName());
+			userPosition.setScore(scoresByUserId.getOrDefault(user.getUserId(), 0));
+			userPositions.add(userPosition);
+		}
+
+		logger.info("Leaderboard of eventId {} and userGroupId {} scored from {} bets of {} users", eventId,
+				userGroupId, bets.size(), users.size());
+		return userPositions;
+	}
+
+	/**
+	 * Returns line chart scores data of the given userPositions belong to the given
+	 * {@link Event#eventId} and {@link UserGroup#userGroupId}. Each dataset contains 
+	 * the cumulative score of a user on the given match dates. All bets of the userGroup 
+	 * are loaded by one query, their scores are summed up in one pass into a primitive 
+	 * int array row of each user indexed by match date, finally each row is accumulated.
+	 *
+	 * @param eventId - filter for {@link Event}
+	 * @param userGroupId - filter for {@link UserGroup}, it may be virtual Everybody
+	 * @param userPositions - sorted userPositions of the userGroup, they define the datasets
+	 * @param matchDates - distinct ordered match dates (truncated to days) of the event
+	 * @return line chart scores data of the userGroup
+	 */
+	@Transactional(readOnly = true)
+	public LineChartData retrieveLineChartData(Long eventId, Long userGroupId, List<UserPosition> userPositions, List<LocalDateTime> matchDates) {
+		checkNotNull(eventId);
+		checkNotNull(userGroupId);
+		checkNotNull(userPositions);
+		checkNotNull(matchDates);
+
+		Map<LocalDateTime, Integer> indexesByMatchDate = new HashMap<>();
+		for (int i = 0; i < matchDates.size(); i++) {
+			indexesByMatchDate.put(matchDates.get(i), i);
+		}
+		Map<Long, Integer> indexesByUserId = new HashMap<>();
+		for (int i = 0; i < userPositions.size(); i++) {
+			indexesByUserId.put(userPositions.get(i).getUserId(), i);
+		}
+
+		int[][] scores = new int[userPositions.size()][matchDates.size()];
+		Map<Long, Pair<Long>> favouriteTeamIdsByUserId = retrieveFavouriteTeamIdsByUserGroup(eventId, userGroupId);
+		for (Bet bet : retrieveBetsByUserGroup(eventId, userGroupId)) {
+			Long userId = bet.getUser().getUserId();
+			Integer userIndex = indexesByUserId.get(userId);
+			Integer matchDateIndex = indexesByMatchDate.get(CommonUtil.truncateDateTime(bet.getMatch().getStartTime()));
+			if (userIndex != null && matchDateIndex != null) {
+				scores[userIndex][matchDateIndex] += retrieveScoreByBet(bet, favouriteTeamIdsByUserId.get(userId));
+			}
+		}
+
+		LineChartData data = new LineChartData();
+		data.setMatchDates(matchDates); // labels
+		for (int i = 0; i < userPositions.size(); i++) {
+			int[] userScores = scores[i];
+			for (int j = 1; j < userScores.length; j++) {
+				userScores[j] += userScores[j-1];
+			}
+			LineChartDataset dataset = new LineChartDataset();
+			dataset.setLabel(userPositions.get(i).getLoginName());
+			dataset.setData(Ints.asList(userScores));
+			data.getDatasets().add(dataset);
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the leaderboard snapshot of the Everybody userGroup belongs to the given
+	 * {@link Event#eventId}. If it is not built yet, it is built synchronously.
+	 *
+	 * @param eventId - filter for {@link Event}
+	 * @return leaderboard snapshot of the event
+	 */
+	@Transactional(readOnly = true)
+	public LeaderboardSnapshot retrieveLeaderboardSnapshot(Long eventId) {
+		checkNotNull(eventId);
+
+		LeaderboardSnapshot leaderboardSnapshot = leaderboardSnapshotsByEventId.get(eventId);
+		if (leaderboardSnapshot == null) {
+			// built outside of the map, concurrent first calls may build it more times
+			long count = rebuildRequestCount.get();
+			leaderboardSnapshot = buildLeaderboardSnapshot(eventId);
+			LeaderboardSnapshot previous = leaderboardSnapshotsByEventId.putIfAbsent(eventId, leaderboardSnapshot);
+			if (previous != null) {
+				leaderboardSnapshot = previous;
+			}
+			else if (rebuildRequestCount.get() != count) {
+				leaderboardSnapshotsByEventId.remove(eventId, leaderboardSnapshot);
+			}
+		}
+		return leaderboardSnapshot;
+	}
+
+	/**
+	 * Removes the leaderboard snapshot of the given event, so it is built again at next usage.
+	 *
+	 * @param eventId
+	 */
+	public void evictLeaderboardSnapshot(Long eventId) {
+		checkNotNull(eventId);
+		leaderboardSnapshotsByEventId.remove(eventId);
+	}
+
+	/**
+	 * Returns a sorted list of {@link UserPosition} instances which belong to the given
+	 * {@link Event#eventId} and {@link UserGroup#userGroupId} filtered from the leaderboard
+	 * snapshot of the event. Only the members of a non Everybody userGroup are retrieved
+	 * from database, their positions are ranked again within the userGroup.
+	 * Members missing from the snapshot, because their first bet is newer than the
+	 * snapshot, are appended with zero score.
+	 *
+	 * @param eventId - filter for {@link Event}
+	 * @param userGroupId - filter for {@link UserGroup}, it may be virtual Everybody
+	 * @return list of sorted and ranked userPositions which belongs to the given eventId and userGroupId
+	 */
+	@Transactional(readOnly = true)
+	public List<UserPosition> retrieveUserPositionsBySnapshot(Long eventId, Long userGroupId) {
+		checkNotNull(eventId);
+		checkNotNull(userGroupId);
+
+		LeaderboardSnapshot leaderboardSnapshot = retrieveLeaderboardSnapshot(eventId);
+		if (userGroupId == UserGroup.EVERYBODY_USER_GROUP_ID) {
+			return leaderboardSnapshot.copyUserPositions();
+		}
+
+		Map<Long, User> usersByUserId = new HashMap<>();
+		for (User user : userGroupDao.retrieveUsersWithBetsByUserGroup(userGroupId, eventId)) {
+			usersByUserId.put(user.getUserId(), user);
+		}
+
+		List<UserPosition> userPositions = new ArrayList<>(usersByUserId.size());
+		Set<Long> foundUserIds = new HashSet<>();
+		for (UserPosition userPosition : leaderboardSnapshot.getUserPositions()) {
+			if (usersByUserId.containsKey(userPosition.getUserId())) {
+				userPositions.add(LeaderboardSnapshot.copyUserPosition(userPosition));
+				foundUserIds.add(userPosition.getUserId());
+			}
+		}
+		for (User user : usersByUserId.values()) {
+			if (!foundUserIds.contains(user.getUserId())) {
+				UserPosition userPosition = new UserPosition();
+				userPosition.setUserId(user.getUserId());
+				userPosition.setLoginName(user.getLoginName());
+				userPosition.setFullName(user.getFullName());
+				userPositions.add(userPosition); // zero score keeps the order
+			}
+		}
+
+		RankingUtil.rank(userPositions, USER_POSITION_COMPARATOR, UserPosition::setPosition);
+		return userPositions;
+	}
+
+	/**
+	 * Rebuilds the leaderboard snapshot of the given {@link Event#eventId} if it is already
+	 * built. Requests arriving while a rebuild of the same event is waiting are coalesced
+	 * into that rebuild. The new snapshot is built outside of the snapshot map and swapped
+	 * in at once, the previous snapshot is served until then.
+	 * Invoked asynchronously from {@link LeaderboardAsyncService}.
+	 *
+	 * @param eventId
+	 */
+	@Transactional(readOnly = true)
+	public void rebuildLeaderboardSnapshot(Long eventId) {
+		checkNotNull(eventId);
+
+		rebuildRequestCount.incrementAndGet();
+		if (!leaderboardSnapshotsByEventId.containsKey(eventId) || !pendingRebuildEventIds.add(eventId)) {
+			return;
+		}
+		// waits for a possibly running rebuild of the same snapshot, so an older build cannot overwrite a newer one
+		synchronized (rebuildLocksByEventId.computeIfAbsent(eventId, k -> new Object())) {
+			pendingRebuildEventIds.remove(eventId);
+			if (leaderboardSnapshotsByEventId.containsKey(eventId)) {
+				leaderboardSnapshotsByEventId.replace(eventId, buildLeaderboardSnapshot(eventId));
+			}
+		}
+	}
+
+	/**
+	 * Builds a new leaderboard snapshot of the Everybody userGroup of the given eventId.
+	 * The scores are taken from the score ledger if it is enabled, otherwise all bets
+	 * of the event are scored.
+	 *
+	 * @param eventId
+	 * @return built leaderboard snapshot
+	 */
+	private LeaderboardSnapshot buildLeaderboardSnapshot(Long eventId) {
+		List<UserPosition> userPositions;
+		if (scoreLedgerService.isScoreLedgerEnabled()) {
+			userPositions = retrieveUserPositionsByScoreLedger(eventId);
+		}
+		else {
+			userPositions = retrieveUserPositions(eventId, UserGroup.EVERYBODY_USER_GROUP_ID);
+		}
+		RankingUtil.sortAndRank(userPositions, USER_POSITION_COMPARATOR, UserPosition::setPosition);
+		logger.info("Leaderboard snapshot of eventId {} built with {} users", eventId, userPositions.size());
+		return new LeaderboardSnapshot(eventId, LocalDateTime.now(), userPositions);
+	}
+
+	/**
+	 * Returns a list of {@link UserPosition} instances of the Everybody userGroup belongs
+	 * to the given eventId, their scores are taken from the score ledger. Only the rows
+	 * missing from the ledger are loaded.
+	 *
+	 * @param eventId
+	 * @return list of unsorted userPositions of the event
+	 */
+	private List<UserPosition> retrieveUserPositionsByScoreLedger(Long eventId) {
+		List<User> users = userGroupDao.retrieveUsersWithBetsByUserGroup(UserGroup.EVERYBODY_USER_GROUP_ID, eventId);
+		Map<Long, Integer> scoresByUserId = scoreLedgerService.retrieveScoresByEventAndUsers(eventId,
+				users.stream().map(User::getUserId).toList());
+
+		List<UserPosition> userPositions = new ArrayList<>(users.size());
+		for (User user : users) {
+			UserPosition userPosition = new UserPosition();
+			userPosition.setUserId(user.getUserId());
+			userPosition.setLoginName(user.getLoginName());
+			userPosition.setFullName(user.getFullName());
+			userPosition.setScore(scoresByUserId.get(user.getUserId()));
+			userPositions.add(userPosition);
+		}
+		return userPositions;
+	}
+
+	/**
+	 * Returns all bets of the given userGroup with fetched matches and rounds.
+	 *
+	 * @param eventId
+	 * @param userGroupId - it may be virtual Everybody
+	 * @return list of bets of the userGroup
+	 */
+	private List<Bet> retrieveBetsByUserGroup(Long eventId, Long userGroupId) {
+		if (userGroupId == UserGroup.EVERYBODY_USER_GROUP_ID) {
+			return betDao.retrieveBetsByEvent(eventId);
+		}
+		return betDao.retrieveBetsByEventAndUserGroup(eventId, userGroupId);
+	}
+
+	/**
+	 * Returns favourite team id pairs of the users of the given userGroup keyed by userId.
+	 *
+	 * @param eventId
+	 * @param userGroupId - it may be virtual Everybody
+	 * @return favourite team id pairs by userId
+	 */
+	private Map<Long, Pair<Long>> retrieveFavouriteTeamIdsByUserGroup(Long eventId, Long userGroupId) {
+		List<UserOfEvent> userOfEvents;
+		if (userGroupId == UserGroup.EVERYBODY_USER_GROUP_ID) {
+			userOfEvents = userOfEventDao.retrieveUserOfEventByEvent(eventId);
+		}
+		else {
+			userOfEvents = userOfEventDao.retrieveUserOfEventByEventAndUserGroup(eventId, userGroupId);
+		}
+		return retrieveFavouriteTeamIdsByUser(userOfEvents);
+	}
+
+	/**
+	 * Returns favourite team id pairs of the given userOfEvents keyed by userId.
+	 *
+	 * @param userOfEvents
+	 * @return favourite team id pairs by userId
+	 */
+	public Map<Long, Pair<Long>> retrieveFavouriteTeamIdsByUser(List<UserOfEvent> userOfEvents) {
+		checkNotNull(userOfEvents);
+
+		Map<Long, Pair<Long>> favouriteTeamIdsByUserId = new HashMap<>();
+		for (UserOfEvent userOfEvent : userOfEvents) {
+			favouriteTeamIdsByUserId.put(userOfEvent.getUser().getUserId(), retrieveFavouriteTeamIds(userOfEvent));
+		}
+		return favouriteTeamIdsByUserId;
+	}
+
+	/**
+	 * Returns favourite group and knockout team id pair of the given userOfEvent.
+	 *
+	 * @param userOfEvent - may be {@code null}
+	 * @return favourite team id pair
+	 */
+	public Pair<Long> retrieveFavouriteTeamIds(UserOfEvent userOfEvent) {
+		Long favouriteGroupTeamId = null;
+		Long favouriteKnockoutTeamId = null;
+		if (userOfEvent != null) {
+			if (userOfEvent.getFavouriteGroupTeam() != null) {
+				favouriteGroupTeamId = userOfEvent.getFavouriteGroupTeam().getTeamId();
+			}
+			if (userOfEvent.getFavouriteKnockoutTeam() != null) {
+				favouriteKnockoutTeamId = userOfEvent.getFavouriteKnockoutTeam().getTeamId();
+			}
+		}
+		return new Pair<>(favouriteGroupTeamId, favouriteKnockoutTeamId);
+	}
+
+	/**
+	 * Returns calculated score gained by given {@code bet} and {@code favouriteTeamIds}.
+	 * The match of the bet and its round should be already fetched.
+	 *
+	 * @param bet
+	 * @param favouriteTeamIds - may be {@code null}
+	 * @return calculated score of the bet
+	 */
+	public int retrieveScoreByBet(Bet bet, Pair<Long> favouriteTeamIds) {
+		checkNotNull(bet);
+
+		Match match = bet.getMatch();
+		Long favouriteTeamId = null;
+		if (favouriteTeamIds != null) {
+			favouriteTeamId = match.getRound().getIsGroupmatchAsBoolean() ? favouriteTeamIds.getValue1() : favouriteTeamIds.getValue2();
+		}
+		return matchService.getScore(favouriteTeamId,
+				match.getTeam1() != null ? match.getTeam1().getTeamId() : null,
+				match.getTeam2() != null ? match.getTeam2().getTeamId() : null,
+				match.getGoalNormalByTeam1(), match.getGoalNormalByTeam2(),
+				bet.getGoalNormalByTeam1(), bet.getGoalNormalByTeam2());
+	}
+}
@@ -13,6 +13,7 @@ import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.zematix.jworldcup.backend.entity.Match;
 import com.zematix.jworldcup.backend.exception.ServiceException;
+import com.zematix.jworldcup.backend.model.MatchdataUpdateEvent;
 import com.zematix.jworldcup.backend.model.PublishedEvent;
 
 /**
@@ -41,4 +42,21 @@ public class MatchAsyncService extends ServiceBase {
 
 		matchService.onUpdateMatchEvent(match);
 	}
+
+	/**
+	 * Invoked from
+	 * {@link MatchService#updateMatchByMatchdata(Long, Long, Long, Byte, Byte, Byte, Byte, Byte, Byte)}
+	 * when a match is updated by a web service. It runs synchronously after commit, so the
+	 * values derived from the match are up to date when the calling scheduler continues.
+	 * 
+	 * @param event - contains the updated match
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@TransactionalEventListener
+	public void onMatchdataUpdateEvent(@NonNull MatchdataUpdateEvent event) throws ServiceException {
+		Match match = event.getMatch();
+		logger.info("onMatchdataUpdateEvent matchId: {}", match.getMatchId());
+
+		matchService.onMatchdataUpdateEvent(match);
+	}
 }
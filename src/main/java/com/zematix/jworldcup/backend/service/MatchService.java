@@ -10,6 +10,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.inject.Inject;
 
@@ -35,9 +38,12 @@ import com.zematix.jworldcup.backend.entity.Round;
 import com.zematix.jworldcup.backend.entity.Team;
 import com.zematix.jworldcup.backend.exception.ServiceException;
 import com.zematix.jworldcup.backend.model.GroupPosition;
+import com.zematix.jworldcup.backend.model.MatchCompletionCounter;
 import com.zematix.jworldcup.backend.model.Pair;
 import com.zematix.jworldcup.backend.model.ParameterizedMessage;
+import com.zematix.jworldcup.backend.model.MatchdataUpdateEvent;
 import com.zematix.jworldcup.backend.model.PublishedEvent;
+import com.zematix.jworldcup.backend.model.TournamentBracket;
 import com.zematix.jworldcup.backend.scheduler.SchedulerService;
 import com.zematix.jworldcup.backend.util.CommonUtil;
 import com.zematix.jworldcup.backend.util.LambdaExceptionUtil;
@@ -81,6 +87,12 @@ public class MatchService extends ServiceBase {
 	@Inject
 	private UserOfEventService userOfEventService;
 	
+	@Inject
+	private ScoreLedgerService scoreLedgerService;
+	
+	@Inject
+	private LeaderboardAsyncService leaderboardAsyncService;
+	
 	@Inject
     private ApplicationEventPublisher applicationEventPublisher;
 
@@ -89,6 +101,26 @@ public class MatchService extends ServiceBase {
 	
 	@Value("${app.scheduler.expiration.event.days:0}")
 	private String appExpiredDaysEvent;
+
+	@Value("${app.match.completion.counter.enabled:true}")
+	private String appMatchCompletionCounterEnabled;
+
+	/**
+	 * Compiled knockout brackets by eventId, participant rules never change during an event.
+	 */
+	private final ConcurrentMap<Long, TournamentBracket> tournamentBracketsByEventId = new ConcurrentHashMap<>();
+
+	/**
+	 * Match completion counters by eventId, they are updated by the saved matches
+	 * instead of scanning all matches of the event.
+	 */
+	private final ConcurrentMap<Long, MatchCompletionCounter> matchCompletionCountersByEventId = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of the match completion counter updates applied so far, a counter loaded
+	 * meanwhile might miss an update therefore it is not kept.
+	 */
+	private final AtomicLong matchCompletionUpdateCount = new AtomicLong();
 	
 	/**
 	 * Returns a list of {@link Round} instances belongs to the given {@code eventId} 
@@ -187,6 +219,21 @@ public class MatchService extends ServiceBase {
 		return matches;
 	}
 	
+	/**
+	 * Returns a list of {@link Match} instances where each match element belongs to the 
+	 * given {@code eventId}, the match is finished (has valid result) and the match is 
+	 * played in the group stage. Its round and teams are already fetched.
+	 *
+	 * @param eventId
+	 * @return list of {@link Match} instances containing all finished group matches of the given event
+	 * @throws IllegalArgumentException if any of the parameters is null
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<Match> retrieveFinishedGroupMatchesByEvent(Long eventId) {
+		checkNotNull(eventId);
+		return matchDao.retrieveFinishedGroupMatchesByEvent(eventId);
+	}
+	
 	/**
 	 * Retrieves a list of {@link Match} instances belongs to the  given {@code eventId}, 
 	 * with not null {@link Match#participantsRule} value, located in the 
@@ -378,6 +425,10 @@ public class MatchService extends ServiceBase {
 		}
 		match.setResultSignByTeam1(getMatchResult(match, match.getTeam1().getTeamId()));
 		
+		// cached group standings of the match are dropped at once, readers of this transaction 
+		// must not get the previous result
+		invalidateRankedGroupTeams(match);
+		
 		// After successful transaction commit after the end of this method a new transaction
 		// is called asynchronously by event handler, which might update the upcoming matches. 
 		applicationEventPublisher.publishEvent(new PublishedEvent<>(match));
@@ -392,9 +443,21 @@ public class MatchService extends ServiceBase {
 	 */
 	@Transactional(propagation = Propagation.MANDATORY)
 	public void onUpdateMatchEvent(Match match) throws ServiceException {
+		// group standings reloaded by other transactions before the commit are dropped again
+		// before the participants are updated from them
+		invalidateRankedGroupTeams(match);
 		updateMatchParticipants(match.getEvent().getEventId(), match.getMatchId());
+		updateMatchCompletionCounter(match);
 		// update cached value
 		applicationService.refreshEventCompletionPercentCache(match.getEvent().getEventId());
+		// update scores of the bets on the match, the leaderboard snapshot is rebuilt from them
+		scoreLedgerService.onUpdateMatchEvent(match);
+		leaderboardAsyncService.onUpdateMatchEvent(match.getEvent().getEventId());
+		// top users of the event must be recalculated, at event completion topUsers are refreshed at once
+		applicationService.invalidateTopUsersByEventCache(match.getEvent().getEventId());
+		if (applicationService.getEventCompletionPercentCache(match.getEvent().getEventId()) == 100) {
+			applicationService.refreshTopUsersCache();
+		}
 		// invalidate dependent cache(s)
 		Cache cache = cacheManager.getCache(CachingConfig.CACHE_EVENT_KNOCKOUT_START_TIME);
 		if (cache != null) {
@@ -402,6 +465,35 @@ public class MatchService extends ServiceBase {
 		}
 	}
 	
+	/**
+	 * Invoked from {@link MatchAsyncService#onMatchdataUpdateEvent(MatchdataUpdateEvent)}
+	 * when a match is updated by {@link #updateMatchByMatchdata(Long, Long, Long, Byte, Byte, Byte, Byte, Byte, Byte)}.
+	 * Participants, event completion percent and top users are maintained by the caller 
+	 * scheduler itself, see {@link SchedulerService#retrieveMatchResultsJob(Long, Long)}.
+	 * @param match - updated match
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void onMatchdataUpdateEvent(Match match) throws ServiceException {
+		// group standings reloaded by other transactions before the commit are dropped again
+		invalidateRankedGroupTeams(match);
+		updateMatchCompletionCounter(match);
+		// update scores of the bets on the match, the leaderboard snapshot is rebuilt from them
+		scoreLedgerService.onUpdateMatchEvent(match);
+		leaderboardAsyncService.onUpdateMatchEvent(match.getEvent().getEventId());
+	}
+	
+	/**
+	 * Drops the cached standings of the group of the given match if the group standings
+	 * cache is enabled.
+	 * 
+	 * @param match - saved match
+	 */
+	private void invalidateRankedGroupTeams(Match match) {
+		if (groupService.isGroupStandingsCacheEnabled()) {
+			groupService.invalidateRankedGroupTeamsByMatch(match.getMatchId());
+		}
+	}
+	
 	/**
 	 * Returns the signature of the given number.
 	 * 
@@ -444,6 +536,8 @@ public class MatchService extends ServiceBase {
 
 		// update match table
 		match.getEvent().getEventId();
+		// event becomes incomplete, its maximum score is not valid anymore
+		applicationService.invalidateMaximumScoreByEventCache(match.getEvent().getEventId());
 		match.setGoalNormalByTeam1(null);
 		match.setGoalNormalByTeam2(null);
 		match.setGoalExtraByTeam1(null);
@@ -452,6 +546,10 @@ public class MatchService extends ServiceBase {
 		match.setGoalPenaltyByTeam2(null);
 		match.setResultSignByTeam1(getMatchResult(match, match.getTeam1().getTeamId()));
 		
+		// cached group standings of the match are dropped at once, readers of this transaction 
+		// must not get the previous result
+		invalidateRankedGroupTeams(match);
+		
 		// After successful transaction commit after the end of this method a new transaction
 		// is called asynchronously by event handler, which might update the upcoming matches. 
 		applicationEventPublisher.publishEvent(new PublishedEvent<>(match));
@@ -671,35 +769,49 @@ public class MatchService extends ServiceBase {
 		return CommonUtil.plusMinutes(startTime, 115);
 	}
 	
+	/**
+	 * Returns the {@link TournamentBracket} of the given event. It is compiled from the
+	 * participant rules of the matches at the first call and reused afterwards, because
+	 * the rules never change during an event.
+	 * 
+	 * @param eventId
+	 * @return compiled bracket of the given event
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public TournamentBracket retrieveTournamentBracket(Long eventId) {
+		checkNotNull(eventId);
+		
+		TournamentBracket tournamentBracket = tournamentBracketsByEventId.get(eventId);
+		if (tournamentBracket == null) {
+			Map<Short, Pair<GroupPosition>> groupPositionPairsByMatchN = new HashMap<>();
+			for (Match match : matchDao.retrieveMatchesByEvent(eventId)) {
+				if (!Strings.isNullOrEmpty(match.getParticipantsRule())) {
+					groupPositionPairsByMatchN.put(match.getMatchN(), 
+							groupTeamService.convertParticipantRuleToGroupPositionPair(match.getParticipantsRule()));
+				}
+			}
+			tournamentBracket = new TournamentBracket(eventId, groupPositionPairsByMatchN);
+			TournamentBracket previous = tournamentBracketsByEventId.putIfAbsent(eventId, tournamentBracket);
+			if (previous != null) {
+				tournamentBracket = previous;
+			}
+		}
+		return tournamentBracket;
+	}
+	
 	/**
 	 * Returns a list of {@link GroupPosition} instances belongs to all matches of the
-	 * round after group rounds.
+	 * round after group rounds, these refer to the winner or loser of a match.
 	 *  
 	 * @param eventId
-	 * @return
-	 * @throws ServiceException
+	 * @return list of knockout group positions
 	 */
 	@VisibleForTesting
 	/*private*/ List<GroupPosition> retrieveGroupPositionsOfParticipantRules(Long eventId) {
 		checkNotNull(eventId);
 		
-		final String PARTICIPANT_RULE_REGEX = "^([WL])([0-9]+)-([WL])([0-9]+)$";
-		List<GroupPosition> groupPositions = new ArrayList<>();
-
-		// retrieve participant rules, e.g. "A1-B2", "A2-BCD3", "W34-W35", "L32-L33", ...
-		List<String> participantRules = matchDao.retrieveParticipantRulesOfMatchesByEvent(eventId);
-		
-		// filter non-group rules, e.g. "W34-W35", "L32-L33"
-		participantRules = participantRules.stream()
-				.filter(rule->rule.matches(PARTICIPANT_RULE_REGEX))
-				.toList();
-		
-		for (String participantRule : participantRules) {
-			Pair<GroupPosition> groupPositionPair = groupTeamService.convertParticipantRuleToGroupPositionPair(participantRule);
-			groupPositions.addAll(groupPositionPair.getList());
-		}
-		
-		return groupPositions;
+		// knockout group positions of the compiled participant rules, e.g. "W34", "L32", ...
+		return new ArrayList<>(retrieveTournamentBracket(eventId).getKnockoutGroupPositions());
 	}
 	
 	/**
@@ -717,10 +829,16 @@ public class MatchService extends ServiceBase {
 		
 		Map<GroupPosition, Team> teamByGroupPositionMap = new HashMap<>();
 		
+		// all matches are retrieved at once instead of one by one for each group position
+		Map<Short, Match> matchByMatchN = new HashMap<>();
+		for (Match match : matchDao.retrieveMatchesByEvent(eventId)) {
+			matchByMatchN.put(match.getMatchN(), match);
+		}
+		
 		for (GroupPosition groupPosition : retrieveGroupPositionsOfParticipantRules(eventId)) {
 			String groupName = groupPosition.getGroupName();
 			Short matchN = groupPosition.getPosition().shortValue();
-			Match match = matchDao.retrieveMatchByMatchN(eventId, matchN);
+			Match match = matchByMatchN.get(matchN);
 			if (match == null || (match.getTeam1() == null || match.getTeam2() == null)) {
 				continue;
 			}
@@ -760,24 +878,33 @@ public class MatchService extends ServiceBase {
 
 		int updatedMatches = 0;
 		Match updatedMatch = retrieveMatch(updatedMatchId);
+		TournamentBracket tournamentBracket = retrieveTournamentBracket(eventId);
 		
 		Map<GroupPosition, Team> teamByGroupPositionMap;
+		List<Short> childMatchNs = null; // null means all matches
 		if (Boolean.TRUE.equals(updatedMatch.getRound().getIsGroupmatchAsBoolean())) {
 			teamByGroupPositionMap = groupService.getTeamByGroupPositionMap(eventId);
 		}
 		else {
+			// only the child matches of the updated knockout match may get participants
+			childMatchNs = tournamentBracket.getChildMatchNs(updatedMatch.getMatchN());
+			if (childMatchNs.isEmpty()) {
+				return updatedMatches;
+			}
 			teamByGroupPositionMap = getTeamByGroupPositionMap(eventId);
 		}
 		
 		List<Match> matches = retrieveMatchesWithoutParticipantsByEvent(eventId);
 		for (Match match : matches) {
-			if (Strings.isNullOrEmpty(match.getParticipantsRule())) {
+			if (childMatchNs != null && !childMatchNs.contains(match.getMatchN())) {
+				continue;
+			}
+			Pair<GroupPosition> groupPositionPair = tournamentBracket.getGroupPositionPair(match.getMatchN());
+			if (groupPositionPair == null) {
 				continue;
 			}
 			Pair<Team> origTeamPair = new Pair<>(match.getTeam1(), match.getTeam2());
 			Pair<Team> updatedTeamPair = new Pair<>(match.getTeam1(), match.getTeam2());
-			Pair<GroupPosition> groupPositionPair = groupTeamService.
-					convertParticipantRuleToGroupPositionPair(match.getParticipantsRule());
 			if (updatedTeamPair.getValue1() == null) {
 				updatedTeamPair.setValue1(teamByGroupPositionMap.get(groupPositionPair.getValue1()));
 			}
@@ -893,7 +1020,6 @@ public class MatchService extends ServiceBase {
 	@VisibleForTesting
 	/*private*/ LocalDateTime getMatchParticipantsEscalationTime(Match match) throws ServiceException {
 		LocalDateTime matchEscalationTime = null;
-		final String KNOCKOUT_RULE_REGEX = "^([WL])([0-9]+)-([WL])([0-9]+)$";
 		checkNotNull(match);
 		if (match.getTeam1() != null && match.getTeam2() != null) {
 			return null;
@@ -903,10 +1029,11 @@ public class MatchService extends ServiceBase {
 		}
 		// match is in the knock-out stage so
 		// retrieve its participant rule, e.g. "A1-B2", "A2-BCD3", "W34-W35", "L32-L33", ...
-		String participantsRule = match.getParticipantsRule();
-		Pair<GroupPosition> groupPositions = groupTeamService.convertParticipantRuleToGroupPositionPair(participantsRule);
+		TournamentBracket tournamentBracket = retrieveTournamentBracket(match.getEvent().getEventId());
+		Pair<GroupPosition> groupPositions = tournamentBracket.getGroupPositionPair(match.getMatchN());
+		checkArgument(groupPositions != null, "Argument \"match\" entity must have participants rule.");
 		
-		if (participantsRule.matches(KNOCKOUT_RULE_REGEX)) {
+		if (tournamentBracket.isKnockoutRule(match.getMatchN())) {
 			// knock-out participant rule, e.g. "W34-W35", "L32-L33"
 			// collect both parent matches
 			Match parentMatch1 = matchDao.retrieveMatchByMatchN(match.getEvent().getEventId(), 
@@ -922,9 +1049,7 @@ public class MatchService extends ServiceBase {
 		else {
 			// group stage participant rule, e.g. "A1-B2", "A2-BCD3"
 			// collect the unique group names from the participant rule
-			String groupPositionNames = groupPositions.getValue1().getGroupName() + groupPositions.getValue2().getGroupName();
-			List<String> groupNames = groupPositionNames.chars().mapToObj(e -> String.valueOf((char) e)).distinct()
-					.toList();
+			List<String> groupNames = tournamentBracket.getGroupNames(match.getMatchN());
 			// collect all group matches belong to the group names
 			List<Match> allGroupMatches = new ArrayList<>();
 			for (String groupName : groupNames) {
@@ -1178,12 +1303,12 @@ public class MatchService extends ServiceBase {
 		checkState(team != null, String.format(
 				"Team given in \"teamWsId\" with value %d does not exist in \"team\" database table.", teamWsId));
 		
-		Pair<GroupPosition> groupPositionPair = groupTeamService.
-				convertParticipantRuleToGroupPositionPair(match.getParticipantsRule());
+		TournamentBracket tournamentBracket = retrieveTournamentBracket(match.getEvent().getEventId());
+		Pair<GroupPosition> groupPositionPair = tournamentBracket.getGroupPositionPair(match.getMatchN());
+		checkArgument(groupPositionPair != null, "Argument \"match\" entity must have participants rule.");
 		GroupPosition groupPosition = index ==1 ? groupPositionPair.getValue1() : groupPositionPair.getValue2();
 		
-		final String PARTICIPANT_KNOCKOUT_RULE_REGEX = "^([WL])([0-9]+)-([WL])([0-9]+)$";
-		boolean isKnockoutRule = match.getParticipantsRule().matches(PARTICIPANT_KNOCKOUT_RULE_REGEX);
+		boolean isKnockoutRule = tournamentBracket.isKnockoutRule(match.getMatchN());
 		List<Team> candidateTeams = new ArrayList<>();
 		if (!isKnockoutRule) {
 			// groupPosition.getGroupName() may contain more group names
@@ -1271,8 +1396,15 @@ public class MatchService extends ServiceBase {
 			
 			commonDao.flushEntityManager();
 			
+			// cached group standings must be dropped before the participants are updated from them
+			invalidateRankedGroupTeams(match);
+			
 			// Update additional matches setting teams on them.
 			updateMatchParticipants(match.getEvent().getEventId(), match.getMatchId());
+			
+			// After successful transaction commit the application level values are updated by
+			// event handlers, session scoped listeners of PublishedEvent<Match> are not involved.
+			applicationEventPublisher.publishEvent(new MatchdataUpdateEvent(match));
 		}
 		
 		return isUpdated ? match : null;
@@ -1311,13 +1443,98 @@ public class MatchService extends ServiceBase {
 	public int retriveMatchesAccomplishedInPercent(Long eventId) throws ServiceException {
 		checkNotNull(eventId);
 		
-		List<Match> matches = retrieveMatchesByEvent(eventId);
-		if (matches.isEmpty()) {
-			return 0;
+		if (!isMatchCompletionCounterEnabled()) {
+			return loadMatchCompletionCounter(eventId).getPercent();
+		}
+		return retrieveMatchCompletionCounter(eventId).getPercent();
+	}
+
+	/**
+	 * Returns {@code true} if the match completion counters are kept in memory.
+	 * 
+	 * @return {@code true} if the match completion counter is enabled
+	 */
+	public boolean isMatchCompletionCounterEnabled() {
+		return Boolean.valueOf(appMatchCompletionCounterEnabled);
+	}
+
+	/**
+	 * Drops the match completion counter of the given event, it is loaded again at its 
+	 * next retrieval. It must be called if the matches are modified bypassing this service,
+	 * see {@link SchedulerService#databaseMaintenanceJob()}.
+	 * 
+	 * @param eventId
+	 */
+	public void invalidateMatchCompletionCounter(Long eventId) {
+		checkNotNull(eventId);
+		// a counter being loaded meanwhile is dropped by the load itself, see retrieveMatchCompletionCounter
+		matchCompletionUpdateCount.incrementAndGet();
+		matchCompletionCountersByEventId.remove(eventId);
+	}
+
+	/**
+	 * Returns the match completion counter of the given event. At the first call it is 
+	 * initialized by an aggregate query and by the ids of the completed matches, later 
+	 * it is maintained by {@link #onUpdateMatchEvent(Match)}.
+	 * 
+	 * @param eventId
+	 * @return match completion counter of the given event
+	 */
+	private MatchCompletionCounter retrieveMatchCompletionCounter(Long eventId) {
+		MatchCompletionCounter matchCompletionCounter = matchCompletionCountersByEventId.get(eventId);
+		if (matchCompletionCounter == null) {
+			long count = matchCompletionUpdateCount.get();
+			matchCompletionCounter = loadMatchCompletionCounter(eventId);
+			MatchCompletionCounter previous = matchCompletionCountersByEventId.putIfAbsent(eventId, matchCompletionCounter);
+			if (previous != null) {
+				matchCompletionCounter = previous;
+			}
+			else if (matchCompletionUpdateCount.get() != count) {
+				matchCompletionCountersByEventId.remove(eventId, matchCompletionCounter);
+			}
+		}
+		return matchCompletionCounter;
+	}
+
+	/**
+	 * Creates the match completion counter of the given event by an aggregate query 
+	 * and by the ids of the completed matches.
+	 * 
+	 * @param eventId
+	 * @return new match completion counter of the given event
+	 */
+	private MatchCompletionCounter loadMatchCompletionCounter(Long eventId) {
+		int numberOfMatches = (int) matchDao.countMatchesByEvent(eventId);
+		return new MatchCompletionCounter(numberOfMatches, matchDao.retrieveCompletedMatchIdsByEvent(eventId));
+	}
+
+	/**
+	 * Updates the match completion counter of the event of the given saved match. 
+	 * Participants of its child matches might be changed as well, so they are 
+	 * updated too.
+	 * 
+	 * @param match - saved match
+	 * @throws ServiceException
+	 */
+	private void updateMatchCompletionCounter(Match match) throws ServiceException {
+		Long eventId = match.getEvent().getEventId();
+		// a counter being loaded meanwhile is dropped by the load itself, see retrieveMatchCompletionCounter
+		matchCompletionUpdateCount.incrementAndGet();
+		MatchCompletionCounter matchCompletionCounter = matchCompletionCountersByEventId.get(eventId);
+		if (matchCompletionCounter == null) {
+			return; // it is going to be initialized at its first retrieval
 		}
 		
-		List<Match> incompleteMatches = retrieveIncompleteMatchesByEvent(eventId);
-		return (matches.size() - incompleteMatches.size()) * 100 / matches.size();
+		List<Match> matches = new ArrayList<>();
+		matches.add(commonDao.findEntityById(Match.class, match.getMatchId()));
+		List<Short> childMatchNs = retrieveTournamentBracket(eventId).getChildMatchNs(match.getMatchN());
+		if (!childMatchNs.isEmpty()) {
+			matches.addAll(matchDao.retrieveMatchesByMatchNs(eventId, childMatchNs));
+		}
+		for (Match m : matches) {
+			boolean isCompleted = m.getTeam1() != null && m.getTeam2() != null && isMatchCompleted(m);
+			matchCompletionCounter.update(m.getMatchId(), isCompleted);
+		}
 	}
 
 	/**
@@ -49,6 +49,16 @@ public class MessageQueueService extends ServiceBase{
 		template.convertAndSend("/queue/session#"+sessionData.getId(), sessionDataMapper.entityToDto(sessionData), headers);
 	}
 	
+	/**
+	 * Sends the given event level data to an event topic, it is received by all clients
+	 * subscribed to the event. Private content must be sent by {@link #sendSession(SessionData)}.
+	 * @param eventId
+	 * @param eventData - contains values identical for all users of the event
+	 */
+	public void sendEvent(Long eventId, SessionData eventData) {
+		template.convertAndSend("/topic/event#"+eventId, sessionDataMapper.entityToDto(eventData));
+	}
+	
 	/**
 	 * Sends the given chat object to an user-group topic.
 	 * @param chat
@@ -0,0 +1,295 @@
+package com.zematix.jworldcup.backend.service;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.inject.Inject;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.zematix.jworldcup.backend.dao.BetDao;
+import com.zematix.jworldcup.backend.dao.UserOfEventDao;
+import com.zematix.jworldcup.backend.entity.Bet;
+import com.zematix.jworldcup.backend.entity.Event;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.entity.User;
+import com.zematix.jworldcup.backend.entity.UserOfEvent;
+import com.zematix.jworldcup.backend.model.Pair;
+import com.zematix.jworldcup.backend.model.PublishedEvent;
+import com.zematix.jworldcup.backend.model.ScoreLedger;
+import com.zematix.jworldcup.backend.scheduler.SchedulerService;
+
+/**
+ * Maintains in-memory {@link ScoreLedger} instances by events. A ledger is loaded
+ * lazily with set based queries at its first usage. Afterwards it is updated
+ * incrementally, only the scores of the bets belong to a saved match are recalculated
+ * when the match result event arrives. Bet and favourite team modifications of a user
+ * just remove the row of the user from the ledger, it is reloaded at next usage.
+ */
+@Service
+@Transactional
+public class ScoreLedgerService extends ServiceBase {
+
+	@Inject
+	private BetDao betDao;
+
+	@Inject
+	private UserOfEventDao userOfEventDao;
+
+	@Inject
+	private LeaderboardService leaderboardService;
+
+	@Value("${app.score.ledger.enabled:true}")
+	private String appScoreLedgerEnabled;
+
+	/**
+	 * Loaded score ledgers by eventId
+	 */
+	private final ConcurrentMap<Long, ScoreLedger> scoreLedgersByEventId = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of the match and user updates applied so far, a ledger loaded meanwhile
+	 * might miss an update therefore it is not kept.
+	 */
+	private final AtomicLong updateCount = new AtomicLong();
+
+	/**
+	 * Returns {@code true} if score ledger usage is enabled, {@code false} otherwise.
+	 * @return {@code true} if score ledger usage is enabled, {@code false} otherwise
+	 */
+	public boolean isScoreLedgerEnabled() {
+		return Boolean.valueOf(appScoreLedgerEnabled);
+	}
+
+	/**
+	 * Returns score gained by the given {@code userId} user on the given {@code eventId}
+	 * event from the score ledger. If the ledger or the row of the user is missing,
+	 * it is loaded first.
+	 *
+	 * @param eventId
+	 * @param userId
+	 * @return total score of the user on the event
+	 */
+	@Transactional(readOnly = true)
+	public int retrieveScoreByEventAndUser(Long eventId, Long userId) {
+		checkNotNull(eventId);
+		checkNotNull(userId);
+
+		return retrieveScore(retrieveScoreLedger(eventId), userId);
+	}
+
+	/**
+	 * Returns scores gained by the given {@code userIds} users on the given {@code eventId}
+	 * event keyed by userId from the score ledger. If the ledger or the row of a user
+	 * is missing, it is loaded first.
+	 *
+	 * @param eventId
+	 * @param userIds
+	 * @return total scores of the users on the event by userId
+	 */
+	@Transactional(readOnly = true)
+	public Map<Long, Integer> retrieveScoresByEventAndUsers(Long eventId, Collection<Long> userIds) {
+		checkNotNull(eventId);
+		checkNotNull(userIds);
+
+		ScoreLedger scoreLedger = retrieveScoreLedger(eventId);
+		Map<Long, Integer> scoresByUserId = new HashMap<>();
+		for (Long userId : userIds) {
+			scoresByUserId.put(userId, retrieveScore(scoreLedger, userId));
+		}
+		return scoresByUserId;
+	}
+
+	/**
+	 * Removes the score ledger of the given event, so it is loaded again at next usage.
+	 * Invoked from {@link SchedulerService#databaseMaintenanceJob()} on completed events,
+	 * their ledgers are not kept in memory after their last usage.
+	 *
+	 * @param eventId
+	 */
+	public void evictScoreLedger(Long eventId) {
+		checkNotNull(eventId);
+		// a ledger being loaded meanwhile is dropped by the load itself, see retrieveScoreLedger
+		updateCount.incrementAndGet();
+		scoreLedgersByEventId.remove(eventId);
+	}
+
+	/**
+	 * Invoked from {@link MatchService#onUpdateMatchEvent(Match)} and {@link MatchService#onMatchdataUpdateEvent(Match)}
+	 * when a match result is saved or reset. Recalculates scores of all bets belong to the given match in the
+	 * loaded ledger of its event. If the ledger is not loaded yet, nothing happens.
+	 *
+	 * @param match - saved match
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void onUpdateMatchEvent(Match match) {
+		checkNotNull(match);
+		Long eventId = match.getEvent().getEventId();
+		Long matchId = match.getMatchId();
+
+		// a ledger being loaded meanwhile is dropped by the load itself, see retrieveScoreLedger
+		updateCount.incrementAndGet();
+		ScoreLedger scoreLedger = scoreLedgersByEventId.get(eventId);
+		if (scoreLedger == null) {
+			return;
+		}
+		
+		Map<Long, Pair<Long>> favouriteTeamIdsByUserId = retrieveFavouriteTeamIdsByEvent(eventId);
+		List<Bet> bets = betDao.retrieveBetsByMatch(matchId);
+		for (Bet bet : bets) {
+			Long userId = bet.getUser().getUserId();
+			scoreLedger.putScore(userId, matchId, leaderboardService.retrieveScoreByBet(bet, favouriteTeamIdsByUserId.get(userId)));
+		}
+		logger.info("Score ledger of eventId {} updated by {} bets of matchId {}", eventId, bets.size(), matchId);
+	}
+
+	/**
+	 * Invoked after commit of a transaction where the given {@link Bet} was saved or deleted.
+	 * Removes the row of the bet owner user from the ledger. It precedes the leaderboard
+	 * snapshot rebuild of {@link LeaderboardAsyncService#onUpdateBetEvent(PublishedEvent)}.
+	 *
+	 * @param event - contains the saved or deleted bet
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@TransactionalEventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onUpdateBetEvent(@NonNull PublishedEvent<Bet> event) {
+		Bet bet = event.getEntity();
+		evictUser(bet.getEvent().getEventId(), bet.getUser().getUserId());
+	}
+
+	/**
+	 * Invoked after commit of a transaction where the given {@link UserOfEvent} was saved.
+	 * Its favourite teams might be changed so the row of its user is removed from the ledger.
+	 * It precedes the leaderboard snapshot rebuild of
+	 * {@link LeaderboardAsyncService#onUpdateUserOfEventEvent(PublishedEvent)}.
+	 *
+	 * @param event - contains the saved userOfEvent
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@TransactionalEventListener
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onUpdateUserOfEventEvent(@NonNull PublishedEvent<UserOfEvent> event) {
+		UserOfEvent userOfEvent = event.getEntity();
+		evictUser(userOfEvent.getEvent().getEventId(), userOfEvent.getUser().getUserId());
+	}
+
+	/**
+	 * Removes the row of the given {@link User} from the ledger of the given {@link Event}.
+	 *
+	 * @param eventId
+	 * @param userId
+	 */
+	private void evictUser(Long eventId, Long userId) {
+		// a ledger being loaded meanwhile is dropped by the load itself, see retrieveScoreLedger
+		updateCount.incrementAndGet();
+		ScoreLedger scoreLedger = scoreLedgersByEventId.get(eventId);
+		if (scoreLedger != null) {
+			scoreLedger.removeUser(userId);
+		}
+	}
+
+	/**
+	 * Gets or loads the score ledger of the given {@code eventId}. The ledger is loaded
+	 * outside of the map, concurrent first calls may load it more times, but only one
+	 * instance is kept. If a match or user update is applied during the load, the loaded
+	 * ledger might miss it, so it is returned but not kept.
+	 *
+	 * @param eventId
+	 * @return score ledger of the event
+	 */
+	private ScoreLedger retrieveScoreLedger(Long eventId) {
+		ScoreLedger scoreLedger = scoreLedgersByEventId.get(eventId);
+		if (scoreLedger == null) {
+			long count = updateCount.get();
+			scoreLedger = loadScoreLedger(eventId);
+			ScoreLedger previous = scoreLedgersByEventId.putIfAbsent(eventId, scoreLedger);
+			if (previous != null) {
+				scoreLedger = previous;
+			}
+			else if (updateCount.get() != count) {
+				scoreLedgersByEventId.remove(eventId, scoreLedger);
+			}
+		}
+		return scoreLedger;
+	}
+
+	/**
+	 * Loads a new score ledger of the given {@code eventId} by 2 queries.
+	 *
+	 * @param eventId
+	 * @return loaded score ledger
+	 */
+	private ScoreLedger loadScoreLedger(Long eventId) {
+		ScoreLedger scoreLedger = new ScoreLedger(eventId);
+
+		Map<Long, Pair<Long>> favouriteTeamIdsByUserId = retrieveFavouriteTeamIdsByEvent(eventId);
+		Map<Long, Map<Long, Integer>> scoresByUserId = new HashMap<>();
+		List<Bet> bets = betDao.retrieveBetsByEvent(eventId);
+		for (Bet bet : bets) {
+			Long userId = bet.getUser().getUserId();
+			scoresByUserId.computeIfAbsent(userId, k -> new HashMap<>())
+					.put(bet.getMatch().getMatchId(), leaderboardService.retrieveScoreByBet(bet, favouriteTeamIdsByUserId.get(userId)));
+		}
+		scoresByUserId.forEach(scoreLedger::putUser);
+
+		logger.info("Score ledger of eventId {} loaded from {} bets of {} users", eventId, bets.size(), scoresByUserId.size());
+		return scoreLedger;
+	}
+
+	/**
+	 * Returns total score of the given {@code userId} from the given score ledger,
+	 * the row of the user is loaded if it is missing.
+	 *
+	 * @param scoreLedger
+	 * @param userId
+	 * @return total score of the user
+	 */
+	private int retrieveScore(ScoreLedger scoreLedger, Long userId) {
+		Integer score = scoreLedger.getScore(userId);
+		return score != null ? score : loadUser(scoreLedger, userId);
+	}
+
+	/**
+	 * Loads the row of the given {@code userId} into the given score ledger. If the user
+	 * is modified during the load, the loaded row might be stale, so it is not kept.
+	 *
+	 * @param scoreLedger
+	 * @param userId
+	 * @return total score of the loaded row
+	 */
+	private int loadUser(ScoreLedger scoreLedger, Long userId) {
+		Long eventId = scoreLedger.getEventId();
+		long version = scoreLedger.getVersion(userId);
+		Pair<Long> favouriteTeamIds = leaderboardService.retrieveFavouriteTeamIds(userOfEventDao.retrieveUserOfEvent(eventId, userId));
+		Map<Long, Integer> scoresByMatchId = new HashMap<>();
+		for (Bet bet : betDao.retrieveBetsByEventAndUser(eventId, userId)) {
+			scoresByMatchId.put(bet.getMatch().getMatchId(), leaderboardService.retrieveScoreByBet(bet, favouriteTeamIds));
+		}
+		return scoreLedger.putUser(userId, scoresByMatchId, version);
+	}
+
+	/**
+	 * Returns favourite team id pairs of all users of the given event keyed by userId.
+	 *
+	 * @param eventId
+	 * @return favourite team id pairs by userId
+	 */
+	private Map<Long, Pair<Long>> retrieveFavouriteTeamIdsByEvent(Long eventId) {
+		return leaderboardService.retrieveFavouriteTeamIdsByUser(userOfEventDao.retrieveUserOfEventByEvent(eventId));
+	}
+}
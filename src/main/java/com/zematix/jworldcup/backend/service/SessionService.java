@@ -1,12 +1,17 @@
 package com.zematix.jworldcup.backend.service;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
 
@@ -21,6 +26,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.annotation.SessionScope;
 
+import com.zematix.jworldcup.backend.configuration.CacheEntryVersions;
 import com.zematix.jworldcup.backend.configuration.CachingConfig;
 import com.zematix.jworldcup.backend.emun.SessionDataModificationFlag;
 import com.zematix.jworldcup.backend.emun.SessionDataOperationFlag;
@@ -75,6 +81,12 @@ public class SessionService extends ServiceBase {
 	
 	@Inject
 	private MessageSource msgs;
+	
+	@Inject
+	private CacheEntryVersions cacheEntryVersions;
+	
+	@Inject
+	private HeaderMessageFanOutService headerMessageFanOutService;
 
 	/**
 	 * {@Link Local} object used in the application
@@ -111,6 +123,12 @@ public class SessionService extends ServiceBase {
 	 */
 	private HeaderMessageList headerMessages = new HeaderMessageList();
 	
+	/**
+	 * Fingerprint of the userGroups section last sent to the client by {@link #refreshSessionData(SessionData)}
+	 * or {@link #createSessionDataDelta()}.
+	 */
+	private String sentUserGroupsFingerprint;
+	
 	/**
 	 * Initialization of some private fields
 	 */
@@ -209,6 +227,9 @@ public class SessionService extends ServiceBase {
 	
 	/**
 	 * Merges given sessionDataClient into this instance and returns the latter one wrapped into SessionData.
+	 * The user, userGroups and event completion sections are versioned by fingerprints. If the client
+	 * sends the actual fingerprint of a section, the section is neither loaded nor compared, it is 
+	 * left empty in the result without modification flag.
 	 * 
 	 * @param sessionDataClient - sessionData comes from client
 	 * @return merged instance
@@ -218,6 +239,8 @@ public class SessionService extends ServiceBase {
 		if (sessionDataClient != null && sessionDataClient.getOperationFlag() != null) {
 			sessionData.setOperationFlag(sessionDataClient.getOperationFlag());
 		}
+		Map<SessionDataModificationFlag, String> fingerprintsClient = sessionDataClient != null && sessionDataClient.getFingerprints() != null 
+				? sessionDataClient.getFingerprints() : Map.of();
 
 		sessionData.setAppShortName(getAppShortName());
 		sessionData.setAppVersionNumber(getAppVersionNumber());
@@ -239,11 +262,16 @@ public class SessionService extends ServiceBase {
 		}
 		sessionData.setLocale(getLocale());
 
-		// user always comes from local/server
-		sessionData.setUser(getUser());
-		if (sessionDataClient == null || !sessionData.getUser().equals(sessionDataClient.getUser())) {
+		// user always comes from local/server, fingerprint is taken before the value
+		String userFingerprint = createUserFingerprint();
+		sessionData.setUser(getUser()); // cached method, it must be called to initialize the session
+		if (userFingerprint != null && userFingerprint.equals(fingerprintsClient.get(SessionDataModificationFlag.USER))) {
+			sessionData.setUser(null); // unchanged
+		}
+		else if (sessionDataClient == null || !sessionData.getUser().equals(sessionDataClient.getUser())) {
 			sessionData.getModificationSet().add(SessionDataModificationFlag.USER);
 		}
+		sessionData.getFingerprints().put(SessionDataModificationFlag.USER, userFingerprint);
 		
 		// event normally comes from client
 		if (sessionDataClient == null || !getEvent().equals(sessionDataClient.getEvent())) {
@@ -259,37 +287,47 @@ public class SessionService extends ServiceBase {
 //			sessionData.getModificationSet().add(SessionDataModificationFlag.USER_OF_EVENT);
 //		}
 		
-		sessionData.setUserGroups(getUserGroups());
-		if (sessionDataClient == null || !sessionData.getUserGroups().equals(sessionDataClient.getUserGroups())) {
-			sessionData.getModificationSet().add(SessionDataModificationFlag.USER_GROUPS);
-		}
-		else { // check users' active flag modifications
-			List<String> from = sessionDataClient.getUserGroups().stream().flatMap(ug -> ug.getUsers().stream())
-					.distinct().map(u -> u.getLoginName() + u.getIsActive()).toList();
-			List<String> to = sessionData.getUserGroups().stream().flatMap(ug -> ug.getUsers().stream()).distinct()
-					.map(u -> u.getLoginName() + u.getIsActive()).toList();
-			if (!from.equals(to)) {
+		String userGroupsFingerprint = createUserGroupsFingerprint();
+		if (userGroupsFingerprint == null || !userGroupsFingerprint.equals(fingerprintsClient.get(SessionDataModificationFlag.USER_GROUPS))) {
+			sessionData.setUserGroups(getUserGroups());
+			if (sessionDataClient == null || !sessionData.getUserGroups().equals(sessionDataClient.getUserGroups())) {
 				sessionData.getModificationSet().add(SessionDataModificationFlag.USER_GROUPS);
 			}
+			else { // check users' active flag modifications
+				List<String> from = sessionDataClient.getUserGroups().stream().flatMap(ug -> ug.getUsers().stream())
+						.distinct().map(u -> u.getLoginName() + u.getIsActive()).toList();
+				List<String> to = sessionData.getUserGroups().stream().flatMap(ug -> ug.getUsers().stream()).distinct()
+						.map(u -> u.getLoginName() + u.getIsActive()).toList();
+				if (!from.equals(to)) {
+					sessionData.getModificationSet().add(SessionDataModificationFlag.USER_GROUPS);
+				}
+			}
 		}
+		sessionData.getFingerprints().put(SessionDataModificationFlag.USER_GROUPS, userGroupsFingerprint);
+		this.sentUserGroupsFingerprint = userGroupsFingerprint;
 		
-		// eventCompletionPercent comes from local/server
-		sessionData.setEventCompletionPercent(getEventCompletionPercent());
-		if (sessionDataClient == null || !sessionData.getEventCompletionPercent().equals(sessionDataClient.getEventCompletionPercent())) {
-			sessionData.getModificationSet().add(SessionDataModificationFlag.EVENT_COMPLETION_PERCENT);
-		}
-		
-		// completedEventIds comes from local/server
-		sessionData.setCompletedEventIds(getCompletedEventIds());
-		if (sessionDataClient == null || !sessionData.getCompletedEventIds().equals(sessionDataClient.getCompletedEventIds())) {
-			sessionData.getModificationSet().add(SessionDataModificationFlag.COMPLETED_EVENT_IDS);
-		}
-		
-		// eventTriggerStartTimes comes from local/server
-		sessionData.setEventTriggerStartTimes(getCachedRetrieveMatchResultsJobTriggerStartTimes());
-		if (sessionDataClient == null || !sessionData.getEventTriggerStartTimes().equals(sessionDataClient.getEventTriggerStartTimes())) {
-			sessionData.getModificationSet().add(SessionDataModificationFlag.EVENT_TRIGGER_START_TIMES);
+		// eventCompletionPercent, completedEventIds and eventTriggerStartTimes share the same fingerprint
+		String eventCompletionFingerprint = createEventCompletionFingerprint();
+		if (eventCompletionFingerprint == null || !eventCompletionFingerprint.equals(fingerprintsClient.get(SessionDataModificationFlag.EVENT_COMPLETION_PERCENT))) {
+			// eventCompletionPercent comes from local/server
+			sessionData.setEventCompletionPercent(getEventCompletionPercent());
+			if (sessionDataClient == null || !sessionData.getEventCompletionPercent().equals(sessionDataClient.getEventCompletionPercent())) {
+				sessionData.getModificationSet().add(SessionDataModificationFlag.EVENT_COMPLETION_PERCENT);
+			}
+			
+			// completedEventIds comes from local/server
+			sessionData.setCompletedEventIds(getCompletedEventIds());
+			if (sessionDataClient == null || !sessionData.getCompletedEventIds().equals(sessionDataClient.getCompletedEventIds())) {
+				sessionData.getModificationSet().add(SessionDataModificationFlag.COMPLETED_EVENT_IDS);
+			}
+			
+			// eventTriggerStartTimes comes from local/server
+			sessionData.setEventTriggerStartTimes(getCachedRetrieveMatchResultsJobTriggerStartTimes());
+			if (sessionDataClient == null || !sessionData.getEventTriggerStartTimes().equals(sessionDataClient.getEventTriggerStartTimes())) {
+				sessionData.getModificationSet().add(SessionDataModificationFlag.EVENT_TRIGGER_START_TIMES);
+			}
 		}
+		sessionData.getFingerprints().put(SessionDataModificationFlag.EVENT_COMPLETION_PERCENT, eventCompletionFingerprint);
 		
 		// newsLine comes from server, in fact it is written here
 		if (sessionData.getOperationFlag() == SessionDataOperationFlag.SERVER) {
@@ -303,6 +341,98 @@ public class SessionService extends ServiceBase {
 		
 		return sessionData;
 	}
+
+	/**
+	 * Fingerprint of the user section, it changes whenever the cached user is evicted.
+	 * 
+	 * @return fingerprint of the user or {@code null} if there is no authenticated user
+	 */
+	private String createUserFingerprint() {
+		var authenticatedUser = userDetailsService.getAuthenticatedUser();
+		String loginName = authenticatedUser != null ? authenticatedUser.getUsername() : this.username;
+		if (loginName == null) {
+			return null;
+		}
+		return String.format("%d:%s@%d", cacheEntryVersions.getEpoch(), loginName, 
+				cacheEntryVersions.getVersion(CachingConfig.CACHE_USER_BY_LOGIN_NAME, loginName));
+	}
+
+	/**
+	 * Fingerprint of the userGroups section, it changes whenever the cached userGroups of the 
+	 * actual event and user are evicted or the online/active state of any member of them changes.
+	 * 
+	 * @return fingerprint of the userGroups or {@code null} if there is no event or user yet
+	 */
+	private String createUserGroupsFingerprint() {
+		if (this.event == null || this.user == null) {
+			return null;
+		}
+		// same key as of UserGroupService#retrieveUserGroups called by getUserGroups method
+		List<Object> key = List.of(this.event.getEventId(), this.user.getUserId(), true);
+		long version = cacheEntryVersions.getVersion(CachingConfig.CACHE_USER_GROUPS, key); // taken before the members
+		Set<String> usernames = new HashSet<>();
+		try {
+			userGroupService.retrieveUserGroups(this.event.getEventId(), this.user.getUserId(), true) // cached method
+					.forEach(userGroup -> userGroup.getUsers().forEach(user -> usernames.add(user.getLoginName())));
+		} catch (ServiceException e) {
+			consumeServiceException(e);
+			throw new IllegalStateException(e.getMessage()); // fatal case 
+		}
+		return String.format("%d:%d/%d@%d.%d", cacheEntryVersions.getEpoch(), this.event.getEventId(), this.user.getUserId(), 
+				version, applicationService.getPresenceVersion(usernames));
+	}
+
+	/**
+	 * Fingerprint of the eventCompletionPercent, completedEventIds and eventTriggerStartTimes values.
+	 * 
+	 * @return fingerprint of the event completion or {@code null} if there is no event yet
+	 */
+	private String createEventCompletionFingerprint() {
+		if (this.event == null) {
+			return null;
+		}
+		return applicationService.createEventCompletionFingerprint(this.event.getEventId());
+	}
+
+	/**
+	 * Collects the private server side changes of the session, which are the userGroups, if their
+	 * membership or the online/active state of any member has changed since they were last sent, 
+	 * and the next header message. Event level values identical for all users of an event are broadcast to event topics, see 
+	 * {@link ApplicationService#createEventDataDelta(Long)}. The returned instance contains only
+	 * the changed values and their flags in its modification set, so the client does not need 
+	 * a follow-up {@link #refreshSessionData(SessionData)} call.
+	 * 
+	 * @return sessionData containing the changes or {@code null} if nothing has changed
+	 */
+	public SessionData createSessionDataDelta() {
+		if (this.event == null) {
+			return null; // session is not initialized yet
+		}
+		SessionData sessionData = new SessionData(id);
+		sessionData.setOperationFlag(SessionDataOperationFlag.SERVER_DELTA);
+		
+		String userGroupsFingerprint = createUserGroupsFingerprint();
+		if (userGroupsFingerprint != null && !userGroupsFingerprint.equals(this.sentUserGroupsFingerprint)) {
+			sessionData.setUserGroups(getUserGroups());
+			sessionData.getModificationSet().add(SessionDataModificationFlag.USER_GROUPS);
+			sessionData.getFingerprints().put(SessionDataModificationFlag.USER_GROUPS, userGroupsFingerprint);
+			this.sentUserGroupsFingerprint = userGroupsFingerprint;
+		}
+		
+		HeaderMessage headerMessage = getHeaderMessages().pop();
+		if (headerMessage != null && !headerMessage.getMessage().equals(getNewsLine())) {
+			setNewsLine(headerMessage.getMessage());
+			sessionData.setNewsLine(getNewsLine());
+			sessionData.getModificationSet().add(SessionDataModificationFlag.NEWS_LINE);
+		}
+		
+		if (sessionData.getModificationSet().isEmpty()) {
+			return null;
+		}
+		sessionData.setActualDateTime(getActualDateTime());
+		sessionData.getModificationSet().add(SessionDataModificationFlag.ACTUAL_DATE_TIME);
+		return sessionData;
+	}
 	
 	/**
 	 * @return session id
@@ -653,7 +783,7 @@ public class SessionService extends ServiceBase {
 	 * @return
 	 */
 	public List<Chat> getChatsByUserGroupCache(UserGroup userGroup) {
-		return applicationService.getChatsByUserGroupCache().getUnchecked(userGroup);
+		return applicationService.getChatsByUserGroupCache(userGroup.getEvent().getEventId(), userGroup.getUserGroupId());
 	}
 
 	/**
@@ -694,14 +824,27 @@ public class SessionService extends ServiceBase {
 		Match match = event.getEntity();
 		logger.info("onUpdateMatchEvent matchId: {}", match.getMatchId());
 		
-		String teamName1 = ParameterizedMessage.create("team."+match.getTeam1().getName()).buildMessage(msgs, locale);
-		String teamName2 = ParameterizedMessage.create("team."+match.getTeam2().getName()).buildMessage(msgs, locale);
-		String message = ParameterizedMessage.create("header.label.match_result", teamName1, teamName2,
-				match.getGoalNormalByTeam1(), match.getGoalNormalByTeam2()).buildMessage(msgs, locale);
+		String message = headerMessageFanOutService.createMatchResultMessage(match, locale);
 		HeaderMessage headerMessage = HeaderMessage.builder().message(message).priority(5).creationTime(getActualDateTime()).build();
 		this.headerMessages.push(headerMessage);
 	}
 
+	/**
+	 * Appends the given already localized messages to the header messages. Invoked from
+	 * {@link HeaderMessageFanOutService} which localizes the messages once per locale.
+	 * 
+	 * @param messages - localized messages
+	 * @param priority - priority of the messages
+	 * @param creationTime - creation time of the messages
+	 */
+	public void pushHeaderMessages(List<String> messages, int priority, LocalDateTime creationTime) {
+		checkNotNull(messages);
+		
+		// HeaderMessage is stateful inside its list, therefore each session gets its own instances
+		messages.forEach(message -> this.headerMessages.push(
+				HeaderMessage.builder().message(message).priority(priority).creationTime(creationTime).build()));
+	}
+
 	/**
 	 * Invoked from {@link MessageQueueService#sendPrivateChat(Chat) when a private chat is sent.
 	 * @param event - contains the sent chat
@@ -9,13 +9,20 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import jakarta.inject.Inject;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -41,6 +48,7 @@ import com.zematix.jworldcup.backend.model.LineChartDataset;
 import com.zematix.jworldcup.backend.model.ParameterizedMessage;
 import com.zematix.jworldcup.backend.model.UserCertificate;
 import com.zematix.jworldcup.backend.model.UserPosition;
+import com.zematix.jworldcup.backend.util.RankingUtil;
 
 /**
  * Operations around {@link UserGroup} elements. 
@@ -71,8 +79,22 @@ public class UserGroupService extends ServiceBase {
 	@Inject
 	private BetService betService;
 
+	@Inject
+	private LeaderboardService leaderboardService;
+
 	@Inject
 	private TemplateService templateService;
+
+	@Inject
+	private CacheManager cacheManager;
+	
+	/**
+	 * Membership index of {@link CachingConfig#CACHE_USER_GROUPS} cache. It contains the userIds 
+	 * of the cached entries by the userGroupIds contained in them, so a modification of a 
+	 * userGroup evicts only the entries of its members. It may contain userIds of already 
+	 * expired entries, their eviction is harmless.
+	 */
+	private final ConcurrentMap<Long, Set<Long>> cachedUserIdsByUserGroupId = new ConcurrentHashMap<>();
 	
 	@Inject
 	private EventService eventService;
@@ -123,7 +145,7 @@ public class UserGroupService extends ServiceBase {
 	 * @return list of userGroups which belongs to the given eventId and userId
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable(cacheNames = CachingConfig.CACHE_USER_GROUPS, key = "{#eventId, #userId, #isEverybodyIncluded}") 
+	@Cacheable(cacheNames = CachingConfig.CACHE_USER_GROUPS, key = "{#eventId, #userId, #isEverybodyIncluded}", sync = true)
 	public List<UserGroup> retrieveUserGroups(Long eventId, Long userId, boolean isEverybodyIncluded) throws ServiceException {
 		checkNotNull(eventId);
 		checkNotNull(userId);
@@ -143,10 +165,42 @@ public class UserGroupService extends ServiceBase {
 			userGroup.setUsers(users);
 			userGroup.getEvent();
 			userGroup.getOwner().getRoles().size();
+			if (!userGroup.getUserGroupId().equals(UserGroup.EVERYBODY_USER_GROUP_ID)) {
+				cachedUserIdsByUserGroupId.computeIfAbsent(userGroup.getUserGroupId(), k -> ConcurrentHashMap.newKeySet()).add(userId);
+			}
 		});
 		
 		return userGroups;
 	}
+
+	/**
+	 * Evicts those entries of {@link CachingConfig#CACHE_USER_GROUPS} cache which contain 
+	 * the given userGroup, moreover the entries of the given user, who might have just been 
+	 * added to or removed from the userGroup. Entries of other users are kept.
+	 * 
+	 * @param eventId - event of the userGroup
+	 * @param userGroupId - modified userGroup
+	 * @param userId - affected user, it may be {@code null}
+	 */
+	private void evictUserGroupsCacheByUserGroup(Long eventId, Long userGroupId, Long userId) {
+		Set<Long> userIds = new HashSet<>();
+		Set<Long> cachedUserIds = cachedUserIdsByUserGroupId.remove(userGroupId);
+		if (cachedUserIds != null) {
+			userIds.addAll(cachedUserIds);
+		}
+		if (userId != null) {
+			userIds.add(userId);
+		}
+		
+		Cache cache = cacheManager.getCache(CachingConfig.CACHE_USER_GROUPS);
+		if (cache != null) {
+			// same keys as of retrieveUserGroups method
+			userIds.forEach(e -> {
+				cache.evict(List.of(eventId, e, false));
+				cache.evict(List.of(eventId, e, true));
+			});
+		}
+	}
 	
 	/**
 	 * Returns a list of found {@link User} instance with "USER" role 
@@ -172,6 +226,9 @@ public class UserGroupService extends ServiceBase {
 	/**
 	 * Returns a sorted list of {@link UserPosition} instances which belong to the given {@link Event#eventId}
 	 * and {@link UserGroup#userGroupId}. The returned elements are sorted by their scores. 
+	 * They are filtered from the leaderboard snapshot of the event if it is enabled. Otherwise 
+	 * scores are calculated by {@link LeaderboardService} unless its engine is disabled,
+	 * then each user is scored separately.
 	 * @param eventId - filter for {@link Event}
 	 * @param userGroupId - filter for {@link UserGroup}
 	 * @return list of sorted userPositions which belongs to the given eventId and userGroupId
@@ -183,33 +240,43 @@ public class UserGroupService extends ServiceBase {
 		checkNotNull(eventId);
 		checkNotNull(userGroupId);
 		
-		List<User> users = userGroupDao.retrieveUsersWithBetsByUserGroup(userGroupId, eventId);
-		
-		for (User user : users) {
-			UserPosition userPosition = new UserPosition();
-			userPosition.setUserId(user.getUserId());
-			userPosition.setLoginName(user.getLoginName());
-			userPosition.setFullName(user.getFullName());
-			userPosition.setScore(betService.retrieveScoreByEventAndUser(eventId, user.getUserId()));
-			userPositions.add(userPosition);
+		if (leaderboardService.isLeaderboardSnapshotEnabled()) {
+			// already sorted and ranked
+			return leaderboardService.retrieveUserPositionsBySnapshot(eventId, userGroupId);
 		}
 		
-//		Comparator<UserPosition> comparator = new Comparator<UserPosition>() {
-//			@Override
-//			public int compare(UserPosition userPosition1, UserPosition userPosition2) {
-//				return -1*Integer.valueOf(userPosition1.getScore()).compareTo(userPosition2.getScore());
-//			}
-//		};
-		Comparator<UserPosition> comparator = (a, b) -> -1*Integer.valueOf(a.getScore()).compareTo(b.getScore());
+		return calculateUserPositions(eventId, userGroupId);
+	}
+	
+	/**
+	 * Calculates a sorted list of {@link UserPosition} instances which belong to the given 
+	 * {@link Event#eventId} and {@link UserGroup#userGroupId} from database, leaderboard
+	 * snapshot is not used. 
+	 * @param eventId - filter for {@link Event}
+	 * @param userGroupId - filter for {@link UserGroup}
+	 * @return list of sorted userPositions which belongs to the given eventId and userGroupId
+	 */
+	private List<UserPosition> calculateUserPositions(Long eventId, Long userGroupId) throws ServiceException {
+		List<UserPosition> userPositions = new ArrayList<>();
 		
-		userPositions.sort(comparator);
-
-		// set positions on each element of the sorted list
-		userPositions.stream()
-				.forEach(pos -> pos.setPosition(userPositions.indexOf(pos) == 0 ? 1
-						: (comparator.compare(pos, userPositions.get(userPositions.indexOf(pos) - 1)) == 0
-								? userPositions.get(userPositions.indexOf(pos) - 1).getPosition()
-								: userPositions.indexOf(pos)+1)));
+		if (leaderboardService.isLeaderboardEngineEnabled()) {
+			userPositions.addAll(leaderboardService.retrieveUserPositions(eventId, userGroupId));
+		}
+		else {
+			List<User> users = userGroupDao.retrieveUsersWithBetsByUserGroup(userGroupId, eventId);
+			
+			for (User user : users) {
+				UserPosition userPosition = new UserPosition();
+				userPosition.setUserId(user.getUserId());
+				userPosition.setLoginName(user.getLoginName());
+				userPosition.setFullName(user.getFullName());
+				userPosition.setScore(betService.retrieveScoreByEventAndUser(eventId, user.getUserId()));
+				userPositions.add(userPosition);
+			}
+		}
+		
+		// sort and set positions on each element of the sorted list
+		RankingUtil.sortAndRank(userPositions, LeaderboardService.USER_POSITION_COMPARATOR, UserPosition::setPosition);
 		
 		return userPositions;
 	}
@@ -332,11 +399,17 @@ public class UserGroupService extends ServiceBase {
 	 * 
 	 * @param userGroupId
 	 */
-	@CacheEvict(cacheNames = CachingConfig.CACHE_USER_GROUPS, allEntries = true)
 	public void deleteUserGroup(Long userGroupId) throws ServiceException {
 		checkNotNull(userGroupId);
 
+		UserGroup userGroup = commonDao.findEntityById(UserGroup.class, userGroupId);
+		Long eventId = userGroup != null ? userGroup.getEvent().getEventId() : null;
+		
 		userGroupDao.deleteUserGroup(userGroupId);
+		
+		if (eventId != null) {
+			evictUserGroupsCacheByUserGroup(eventId, userGroupId, null);
+		}
 	}
 
 	/**
@@ -352,7 +425,6 @@ public class UserGroupService extends ServiceBase {
 	 * @throws IllegalArgumentException
 	 * @throws IllegalStateException
 	 */
-	@CacheEvict(cacheNames = CachingConfig.CACHE_USER_GROUPS, allEntries = true)
 	public User findAndAddUserToUserGroup(Long userGroupId, String loginName, String fullName) throws ServiceException {
 		List<ParameterizedMessage> errMsgs = new ArrayList<>();
 
@@ -387,6 +459,7 @@ public class UserGroupService extends ServiceBase {
 			user = commonDao.mergeEntity(user);
 			
 			commonDao.flushEntityManager();
+			evictUserGroupsCacheByUserGroup(userGroup.getEvent().getEventId(), userGroupId, user.getUserId());
 		}
 		
 		return user;
@@ -402,7 +475,6 @@ public class UserGroupService extends ServiceBase {
 	 * @throws IllegalArgumentException
 	 * @throws IllegalStateException
 	 */
-	@CacheEvict(cacheNames = CachingConfig.CACHE_USER_GROUPS, allEntries = true)
 	public void removeUserFromUserGroup(Long userGroupId, Long userId) throws ServiceException {
 		checkNotNull(userGroupId);
 		checkNotNull(userId);
@@ -420,6 +492,7 @@ public class UserGroupService extends ServiceBase {
 		if (isRemoved) {
 			userGroup = commonDao.mergeEntity(userGroup);
 			commonDao.flushEntityManager();
+			evictUserGroupsCacheByUserGroup(userGroup.getEvent().getEventId(), userGroupId, userId);
 		}
 		//logger.info(String.format("userGroup.user size=%d", userGroup.getUsers().size()));
 	}
@@ -443,7 +516,7 @@ public class UserGroupService extends ServiceBase {
 		User user = commonDao.findEntityById(User.class, userId);
 		checkState(user != null, String.format("No \"User\" entity belongs to \"userId\"=%d in database.", userId));
 		
-		int maximumScoreByEvent = betService.retrieveMaximumScoreByEvent(eventId);
+		int maximumScoreByEvent = applicationService.getMaximumScoreByEventCache(eventId);
 		
 		List<UserGroup> userGroups = retrieveUserGroups(eventId, userId, /*isEverybodyIncluded*/ true);
 
@@ -468,14 +541,7 @@ public class UserGroupService extends ServiceBase {
 				userCertificate.setNumberOfEverybodyMembers(userPositions.size());
 			}
 			
-			Comparator<UserPosition> comparator = (a, b) -> -1*Integer.valueOf(a.getScore()).compareTo(b.getScore());
-			userPositions.sort(comparator);
-			// set positions on each element of the sorted list
-			userPositions.stream()
-					.forEach(pos -> pos.setPosition(userPositions.indexOf(pos) == 0 ? 1
-							: (comparator.compare(pos, userPositions.get(userPositions.indexOf(pos) - 1)) == 0
-									? userPositions.get(userPositions.indexOf(pos) - 1).getPosition()
-									: userPositions.indexOf(pos)+1)));
+			// userPositions are already sorted and their positions are set
 			
 			userCertificate.setMaximumScoreByEvent(maximumScoreByEvent);
 			
@@ -505,14 +571,8 @@ public class UserGroupService extends ServiceBase {
 		
 		Comparator<UserCertificate> comparator = (a, b) -> -1*Double.valueOf(a.getScore()).compareTo(b.getScore());
 		
-		userCertificates.sort(comparator);
-
-		// set positions on each element of the sorted list
-		userCertificates.stream()
-				.forEach(pos -> pos.setPosition(userCertificates.indexOf(pos) == 0 ? 1
-						: (comparator.compare(pos, userCertificates.get(userCertificates.indexOf(pos) - 1)) == 0
-								? userCertificates.get(userCertificates.indexOf(pos) - 1).getPosition()
-								: userCertificates.indexOf(pos)+1)));
+		// sort and set positions on each element of the sorted list
+		RankingUtil.sortAndRank(userCertificates, comparator, UserCertificate::setPosition);
 		
 		return userCertificates;
 	}
@@ -555,38 +615,48 @@ public class UserGroupService extends ServiceBase {
 
 	/**
 	 * Returns a sorted list of {@link UserCertificate} instances from all events.
+	 * The top users of each completed event come from {@link ApplicationService#getTopUsersByEventCache(Long)},
+	 * they are merged by a bounded heap keeping only the best {@link #MAX_TOP_USERS} elements.
 	 * 
 	 * @return list of sorted userCertificate objects from all events
 	 */
 	@Transactional(readOnly = true)
 	public List<UserCertificate> retrieveTopUsers() throws ServiceException {
-		List<UserCertificate> topUsers = new ArrayList<>();
 		Comparator<UserCertificate> comparator = (a, b) -> -1*Double.valueOf(a.getScore()).compareTo(b.getScore());
 		
-		Integer maxNumberOfEverybodyMembers = null;
+		List<List<UserCertificate>> topUsersByEvents = new ArrayList<>();
+		int maxNumberOfEverybodyMembers = 0;
 		for (Event event : eventService.findCompletedEvents()) {
-			int numberOfUsersWithBetsByUserGroup = userGroupDao.retrieveNumberOfUsersWithBetsByUserGroup(UserGroup.EVERYBODY_USER_GROUP_ID, event.getEventId());
-			if (maxNumberOfEverybodyMembers == null || numberOfUsersWithBetsByUserGroup > maxNumberOfEverybodyMembers) {
-				maxNumberOfEverybodyMembers = numberOfUsersWithBetsByUserGroup;
+			List<UserCertificate> topUsersByEvent = applicationService.getTopUsersByEventCache(event.getEventId());
+			topUsersByEvents.add(topUsersByEvent);
+			UserCertificate firstUserCertificate = Iterables.getFirst(topUsersByEvent, null);
+			if (firstUserCertificate != null && firstUserCertificate.getNumberOfMembers() > maxNumberOfEverybodyMembers) {
+				maxNumberOfEverybodyMembers = firstUserCertificate.getNumberOfMembers();
 			}
 		}
 		
-		for (Event event : eventService.findCompletedEvents()) {
-			List<UserCertificate> topUsersByEvent = retrieveTopUsersByEvent(event.getEventId(), maxNumberOfEverybodyMembers);
-			topUsers.addAll(topUsersByEvent);
-			topUsers.sort(comparator);
-			// remove elements above MAX_TOP_USERS position
-			while (topUsers.size() > MAX_TOP_USERS) {
-				topUsers.remove(topUsers.size()-1);
+		// head of the heap is the worst element
+		PriorityQueue<UserCertificate> topUsersHeap = new PriorityQueue<>(MAX_TOP_USERS + 1, comparator.reversed());
+		for (List<UserCertificate> topUsersByEvent : topUsersByEvents) {
+			for (UserCertificate cachedUserCertificate : topUsersByEvent) {
+				// cached element must not be modified
+				UserCertificate userCertificate = new UserCertificate(cachedUserCertificate);
+				userCertificate.setNumberOfEverybodyMembers(maxNumberOfEverybodyMembers);
+				if (topUsersHeap.size() == MAX_TOP_USERS && comparator.compare(userCertificate, topUsersHeap.peek()) >= 0) {
+					break; // elements of an event are sorted, the rest cannot get into the heap
+				}
+				topUsersHeap.offer(userCertificate);
+				if (topUsersHeap.size() > MAX_TOP_USERS) {
+					topUsersHeap.poll();
+				}
 			}
 		}
 		
+		List<UserCertificate> topUsers = new ArrayList<>(topUsersHeap);
+		topUsers.sort(comparator);
+		
 		// set positions on each element of the sorted list
-		topUsers.stream()
-				.forEach(pos -> pos.setPosition(topUsers.indexOf(pos) == 0 ? 1
-						: (comparator.compare(pos, topUsers.get(topUsers.indexOf(pos) - 1)) == 0
-								? topUsers.get(topUsers.indexOf(pos) - 1).getPosition()
-								: topUsers.indexOf(pos)+1)));
+		RankingUtil.rank(topUsers, comparator, UserCertificate::setPosition);
 		
 		return topUsers;
 	}
@@ -596,7 +666,8 @@ public class UserGroupService extends ServiceBase {
 	 * completed {@link Event#eventId}.
 	 * 
 	 * @param eventId - filter for {@link Event}, must be completed
-	 * @param maxNumberOfEverybodyMembers - maximum of members of all completed events
+	 * @param maxNumberOfEverybodyMembers - maximum of members of all completed events, 
+	 *        if {@code null} the members of the given event is used
 	 * @return list of sorted userCertificate objects which belongs to the given eventId
 	 */
 	@Transactional(readOnly = true)
@@ -609,14 +680,15 @@ public class UserGroupService extends ServiceBase {
 		checkState(applicationService.getEventCompletionPercentCache(eventId) == 100, 
 				String.format("Event with eventId=%d must be completed.", eventId));
 		
-		int maximumScoreByEvent = betService.retrieveMaximumScoreByEvent(eventId);
+		int maximumScoreByEvent = applicationService.getMaximumScoreByEventCache(eventId);
 
 		User adminUser = userDao.findFirstAdminUser();
 		UserGroup userGroup = createVirtualEverybodyUserGroup(eventId, adminUser.getUserId());
-		List<UserPosition> userPositions = retrieveUserPositions(eventId, userGroup.getUserGroupId());
+		// snapshot is avoided because the result might be cached for a long time
+		List<UserPosition> userPositions = calculateUserPositions(eventId, userGroup.getUserGroupId());
 
 		for (UserPosition userPosition : userPositions) {
-			if (userCertificates.size() > MAX_TOP_USERS) {
+			if (userCertificates.size() >= MAX_TOP_USERS) {
 				break;
 			}
 			
@@ -736,6 +808,8 @@ public class UserGroupService extends ServiceBase {
 	 * Returns line chart scores data by given {@code userGroupId} user group 
 	 * and given {@code eventID} event on days of the event. The latter one are the keys of 
 	 * the map and those are the dates of the bets wagered by the user group.
+	 * Unless the leaderboard engine is disabled, all datasets are built by 
+	 * {@link LeaderboardService} from the bets of the user group at once.
 	 * 
 	 *  @param eventId
 	 *  @param userGroupId
@@ -751,6 +825,10 @@ public class UserGroupService extends ServiceBase {
 		data.setMatchDates(matchDates);
 		
 		List<UserPosition> userPositions = retrieveUserPositions(eventId, userGroupId);
+		if (leaderboardService.isLeaderboardEngineEnabled()) {
+			return leaderboardService.retrieveLineChartData(eventId, userGroupId, userPositions, matchDates);
+		}
+		
 		for (UserPosition userPosition : userPositions) {
 			Map<LocalDateTime, Integer> map = betService.retrieveScoresByEventAndUser(eventId, userPosition.getUserId());
 			Integer prevScore = 0;
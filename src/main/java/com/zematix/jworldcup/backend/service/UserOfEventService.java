@@ -12,6 +12,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +25,7 @@ import com.zematix.jworldcup.backend.entity.Team;
 import com.zematix.jworldcup.backend.entity.User;
 import com.zematix.jworldcup.backend.entity.UserOfEvent;
 import com.zematix.jworldcup.backend.exception.ServiceException;
+import com.zematix.jworldcup.backend.model.PublishedEvent;
 
 /**
  * Operations around {@link User} elements. 
@@ -43,6 +45,9 @@ public class UserOfEventService extends ServiceBase {
 	@Inject
 	private CacheManager cacheManager;
 
+	@Inject
+	private ApplicationEventPublisher applicationEventPublisher;
+
 	/**
 	 * Retrieves {@link UserOfEvent} instance by its given eventId and userId or {@code null}
 	 * unless found. Returned entity is detached from PU.
@@ -139,6 +144,9 @@ public class UserOfEventService extends ServiceBase {
 		}
 		
 		commonDao.flushEntityManager();
+		
+		// After successful transaction commit the dependent cached scores are invalidated
+		applicationEventPublisher.publishEvent(new PublishedEvent<>(userOfEvent));
 
 		return userOfEvent;
 	}
@@ -414,7 +414,7 @@ public class UserService extends ServiceBase {
 	 * @throws NullPointerException if given {@code loginName} is {@code null}
 	 */
 	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
-	@Cacheable(cacheNames = CachingConfig.CACHE_USER_BY_LOGIN_NAME, key = "#loginName")
+	@Cacheable(cacheNames = CachingConfig.CACHE_USER_BY_LOGIN_NAME, key = "#loginName", sync = true)
 	public User findUserByLoginName(String loginName) {
 		checkNotNull(loginName);
 		
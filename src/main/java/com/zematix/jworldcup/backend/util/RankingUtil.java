@@ -0,0 +1,65 @@
+package com.zematix.jworldcup.backend.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Utility class for ranking of ordered elements, like user positions in leaderboards.
+ * Ranking is competition ranking ("1224"), equal elements share the same position
+ * and the next different element gets its 1-based index as position.
+ */
+public final class RankingUtil {
+
+	/**
+	 * Implicit construction is disallowed.
+	 */
+	private RankingUtil() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Sorts the given list by the given comparator and sets the position of each element
+	 * by {@link #rank(List, Comparator, ObjIntConsumer)}. Sorting is stable, so the
+	 * original order of equal elements is kept.
+	 *
+	 * @param elements - modifiable list to be sorted and ranked
+	 * @param comparator - defines the order, equal elements get the same position
+	 * @param positionSetter - sets the calculated position on an element
+	 */
+	public static <T> void sortAndRank(List<T> elements, Comparator<? super T> comparator, ObjIntConsumer<? super T> positionSetter) {
+		checkNotNull(elements);
+		checkNotNull(comparator);
+
+		elements.sort(comparator);
+		rank(elements, comparator, positionSetter);
+	}
+
+	/**
+	 * Sets the position of each element of the given list which must be already sorted
+	 * by the given comparator. It runs in one pass comparing only neighbour elements.
+	 *
+	 * @param sortedElements - list sorted by the given comparator
+	 * @param comparator - defines the order, equal elements get the same position
+	 * @param positionSetter - sets the calculated position on an element
+	 */
+	public static <T> void rank(List<T> sortedElements, Comparator<? super T> comparator, ObjIntConsumer<? super T> positionSetter) {
+		checkNotNull(sortedElements);
+		checkNotNull(comparator);
+		checkNotNull(positionSetter);
+
+		T previous = null;
+		int index = 0;
+		int position = 0;
+		for (T element : sortedElements) {
+			index++;
+			if (index == 1 || comparator.compare(previous, element) != 0) {
+				position = index;
+			}
+			positionSetter.accept(element, position);
+			previous = element;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.zematix.jworldcup.backend.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.zematix.jworldcup.backend.service.EventService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Contains test functions of {@link SqlStatisticsFilter} class.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+public class SqlStatisticsFilterIT {
+
+	private static final String URI = "/sql-statistics-filter-test";
+
+	@Inject
+	private SqlStatisticsFilter sqlStatisticsFilter;
+
+	@Inject
+	private FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilterRegistration;
+
+	@Inject
+	private MeterRegistry meterRegistry;
+
+	@Inject
+	private EventService eventService;
+
+	@Inject
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Test {@link SqlStatisticsConfig#sqlStatisticsFilterRegistration(SqlStatisticsFilter)} method.
+	 * Scenario: the filter is registered before the security filter chain
+	 */
+	@Test
+	public void sqlStatisticsFilterRegistration() {
+		assertSame(sqlStatisticsFilter, sqlStatisticsFilterRegistration.getFilter());
+		assertTrue(sqlStatisticsFilterRegistration.getOrder() < SecurityProperties.DEFAULT_FILTER_ORDER);
+	}
+
+	/**
+	 * Test {@link SqlStatisticsFilter#doFilter(jakarta.servlet.ServletRequest, jakarta.servlet.ServletResponse, jakarta.servlet.FilterChain)} method.
+	 * Scenario: the number of the sql statements executed by the request is recorded by its uri
+	 */
+	@Test
+	public void doFilter() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", URI);
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		sqlStatisticsFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> eventService.findAllEvents());
+
+		long statementCount = statistics.getPrepareStatementCount();
+		assertTrue(statementCount > 0);
+		DistributionSummary statements = meterRegistry.get("app.sql.statements").tags("uri", URI, "method", "GET").summary();
+		assertEquals(1, statements.count());
+		assertEquals(statementCount, (long) statements.totalAmount());
+	}
+}
@@ -0,0 +1,78 @@
+package com.zematix.jworldcup.backend.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.inject.Inject;
+
+/**
+ * Contains test functions of {@link WebSocketConfiguration} class running with the
+ * embedded broker. Without "develop" profile the secrets must be given.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"test"})
+@TestPropertySource(properties = { "app.websocket.broker.mode=embedded",
+		"jwt.secret=andvcmxkY3VwLXNlbnNpdGl2ZS1zZWNyZXQta2V5LWp3b3JsZGN1cC1zZW5zaXRpdmUtc2VjcmV0LWtleS1qd29ybGRjdXA=",
+		"rabbitMQ.password=jworldcup", "app.reCaptcha.secretKey=dummy" })
+public class WebSocketConfigurationIT {
+
+	@Inject
+	private ApplicationContext applicationContext;
+
+	@Inject
+	private SimpMessagingTemplate simpMessagingTemplate;
+
+	@Inject
+	@Qualifier("clientOutboundChannelExecutor")
+	private Executor clientOutboundChannelExecutor;
+
+	@Inject
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Test {@link WebSocketConfiguration#configureMessageBroker(org.springframework.messaging.simp.config.MessageBrokerRegistry)} method.
+	 * Scenario: embedded simple broker is used instead of the relay and it accepts messages
+	 */
+	@Test
+	public void configureMessageBrokerEmbedded() {
+		assertEquals(1, applicationContext.getBeansOfType(SimpleBrokerMessageHandler.class).size());
+		assertTrue(applicationContext.getBeansOfType(StompBrokerRelayMessageHandler.class).isEmpty());
+
+		simpMessagingTemplate.convertAndSend("/topic/event#1", "message");
+	}
+
+	/**
+	 * Test {@link WebSocketConfiguration#configureClientOutboundChannel(org.springframework.messaging.simp.config.ChannelRegistration)} method.
+	 * Scenario: a message rejected by the full outbound queue is discarded without exception and it is counted
+	 */
+	@Test
+	public void configureClientOutboundChannelRejected() {
+		ThreadPoolExecutor threadPoolExecutor = ((ThreadPoolTaskExecutor) clientOutboundChannelExecutor).getThreadPoolExecutor();
+		double droppedCount = meterRegistry.counter("app.websocket.outbound.dropped").count();
+		boolean[] isRun = { false };
+
+		threadPoolExecutor.getRejectedExecutionHandler().rejectedExecution(() -> isRun[0] = true, threadPoolExecutor);
+
+		assertFalse(isRun[0]);
+		assertEquals(droppedCount + 1, meterRegistry.counter("app.websocket.outbound.dropped").count(), 0);
+	}
+}
@@ -7,6 +7,8 @@ import static org.junit.Assert.assertTrue;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -29,6 +31,7 @@ import com.zematix.jworldcup.backend.exception.ServiceException;
 import com.zematix.jworldcup.backend.service.ApplicationService;
 
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -43,6 +46,9 @@ public class BetControllerIT {
 	@Inject
 	private CommonDao commonDao;
 
+	@Inject
+	private EntityManagerFactory entityManagerFactory;
+
 	@MockitoBean
 	private ApplicationService applicationService;
 
@@ -60,6 +66,44 @@ public class BetControllerIT {
 		assertEquals(1, result.getBody().getData().size());
 	}
 
+	/**
+	 * Scenario: number of executed sql statements does not depend on the number 
+	 *           of the retrieved bets, their associations are fetched at once
+	 */
+	@Test
+	@WithMockUser(username = "normal", roles = {"USER"})
+	public void retrieveBetsByEventAndUserStatementCount() throws ServiceException {
+		// given
+		Long eventId = 1L; // WC2014
+		Long userId = 2L; // normal
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		var result = betController.retrieveBetsByEventAndUser(eventId, userId);
+		assertEquals(1, result.getBody().getData().size());
+		long statementCountByOneBet = statistics.getPrepareStatementCount();
+		
+		// one more bet of the user on another match
+		LocalDateTime matchStartTime = LocalDateTime.parse("2014-06-13 16:00:00", DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+		MatchDto matchDto = new MatchDto();
+		matchDto.setMatchId(2L);
+		matchDto.setStartTime(matchStartTime);
+		UserDto userDto = new UserDto();
+		userDto.setUserId(userId);
+		BetDto betDto = new BetDto();
+		betDto.setGoalNormalByTeam1((byte)1);
+		betDto.setGoalNormalByTeam2((byte)0);
+		betDto.setMatch(matchDto);
+		betDto.setUser(userDto);
+		Mockito.when(applicationService.getActualDateTime()).thenReturn(matchStartTime);
+		assertTrue(betController.saveBet(betDto).getBody().getSuccessful());
+		// when
+		statistics.clear();
+		result = betController.retrieveBetsByEventAndUser(eventId, userId);
+		// then
+		assertEquals(2, result.getBody().getData().size());
+		assertEquals(statementCountByOneBet, statistics.getPrepareStatementCount());
+	}
+
 	@Test
 	@WithMockUser(username = "normal", roles = {"USER"})
 	public void retrieveBetsByMatchAndUserGroup() throws ServiceException {
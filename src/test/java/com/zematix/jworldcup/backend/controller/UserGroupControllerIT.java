@@ -7,9 +7,13 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -18,11 +22,13 @@ import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.zematix.jworldcup.backend.TestBase;
+import com.zematix.jworldcup.backend.configuration.CachingConfig;
 import com.zematix.jworldcup.backend.dao.CommonDao;
 import com.zematix.jworldcup.backend.dto.UserCertificateExtendedDto;
 import com.zematix.jworldcup.backend.emun.ParameterizedMessageType;
 import com.zematix.jworldcup.backend.entity.UserGroup;
 import com.zematix.jworldcup.backend.exception.ServiceException;
+import com.zematix.jworldcup.backend.service.UserGroupService;
 
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -39,6 +45,12 @@ public class UserGroupControllerIT extends TestBase {
 	
 	@Inject
 	private CommonDao commonDao;
+	
+	@Inject
+	private UserGroupService userGroupService;
+	
+	@Inject
+	private CacheManager cacheManager;
 
 	@Test
 	@WithMockUser(username = "normal", roles = {"USER"})
@@ -187,6 +199,29 @@ public class UserGroupControllerIT extends TestBase {
 		assertEquals(1, userGroup.getUsers().size()); // without @Transational we would get LazyInitializationException here
 	}
 	
+	@Test
+	@WithMockUser(username = "normal", roles = {"USER"})
+	public void removeUserFromUserGroupKeepsUnrelatedCachedUserGroups() throws ServiceException {
+		// given
+		Long eventId = 1L; // WC2014
+		Long userGroupId = 1L;
+		Long userId = 6L; // normal2, member of the userGroup
+		Long memberUserId = 2L; // normal, owner and member of the userGroup
+		Long unrelatedUserId = 1L; // admin, not member of the userGroup
+		userGroupService.retrieveUserGroups(eventId, memberUserId, false);
+		userGroupService.retrieveUserGroups(eventId, unrelatedUserId, false);
+		Cache cache = cacheManager.getCache(CachingConfig.CACHE_USER_GROUPS);
+		assertNotNull(cache.get(List.of(eventId, memberUserId, false)));
+		assertNotNull(cache.get(List.of(eventId, unrelatedUserId, false)));
+		// when
+		var result = userGroupController.removeUserFromUserGroup(userGroupId, userId);
+		// then
+		assertEquals(HttpStatus.OK, result.getStatusCode());
+		assertNull(cache.get(List.of(eventId, memberUserId, false)));
+		assertNotNull(cache.get(List.of(eventId, unrelatedUserId, false)));
+		cache.evict(List.of(eventId, unrelatedUserId, false));
+	}
+	
 	@Test
 	@WithMockUser(username = "normal", roles = {"USER"})
 	public void retrieveUserCertificates() throws ServiceException {
@@ -227,6 +262,9 @@ public class UserGroupControllerIT extends TestBase {
 		assertTrue(result.getBody().getSuccessful());
 		assertEquals(2, result.getBody().getData().getDatasets().size());
 		assertEquals(25, result.getBody().getData().getMatchDates().size());
+		var data = result.getBody().getData().getDatasets().get(0).getData();
+		assertEquals(25, data.size());
+		assertEquals(2, data.get(data.size()-1).intValue()); // cumulative score of the leader user
 	}
 	
 }
@@ -0,0 +1,76 @@
+package com.zematix.jworldcup.backend.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import jakarta.inject.Inject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.emun.DictionaryEnum;
+import com.zematix.jworldcup.backend.emun.RoleEnum;
+import com.zematix.jworldcup.backend.entity.Dictionary;
+
+/**
+ * Contains test functions of {@link DictionaryDao} class.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@Transactional
+public class DictionaryDaoTest {
+
+	private static final String NEW_ROLE = "NEWROLE";
+
+	@Inject
+	private DictionaryDao dictionaryDao;
+
+	@Inject
+	private CommonDao commonDao;
+
+	@AfterTransaction
+	public void reloadDictionaryIndex() {
+		// database modifications of the tests are rolled back
+		dictionaryDao.reloadDictionaryIndex();
+	}
+
+	/**
+	 * Test {@link DictionaryDao#findDictionaryByKeyAndValue(String, String)} method.
+	 * Scenario: successfully retrieves an existing entry from the index
+	 */
+	@Test
+	public void findDictionaryByKeyAndValue() {
+		Dictionary dictionary = dictionaryDao.findDictionaryByKeyAndValue(DictionaryEnum.ROLE.name(), RoleEnum.USER.name());
+
+		assertNotNull(dictionary);
+		assertEquals(DictionaryEnum.ROLE.name(), dictionary.getKey());
+		assertEquals(RoleEnum.USER.name(), dictionary.getValue());
+	}
+
+	/**
+	 * Test {@link DictionaryDao#reloadDictionaryIndex()} method.
+	 * Scenario: a row added to the dictionary table is found only after the reload
+	 */
+	@Test
+	public void reloadDictionaryIndexWithNewRow() {
+		int numberOfRoles = dictionaryDao.findDictionarisByKey(DictionaryEnum.ROLE.name()).size();
+		Dictionary dictionary = new Dictionary();
+		dictionary.setKey(DictionaryEnum.ROLE.name());
+		dictionary.setValue(NEW_ROLE);
+		commonDao.persistEntity(dictionary);
+		commonDao.flushEntityManager();
+		assertNull(dictionaryDao.findDictionaryByKeyAndValue(DictionaryEnum.ROLE.name(), NEW_ROLE));
+
+		dictionaryDao.reloadDictionaryIndex();
+
+		assertNotNull(dictionaryDao.findDictionaryByKeyAndValue(DictionaryEnum.ROLE.name(), NEW_ROLE));
+		assertEquals(numberOfRoles + 1, dictionaryDao.findDictionarisByKey(DictionaryEnum.ROLE.name()).size());
+	}
+}
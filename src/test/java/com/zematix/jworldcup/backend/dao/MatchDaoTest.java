@@ -0,0 +1,57 @@
+package com.zematix.jworldcup.backend.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import jakarta.inject.Inject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.entity.Match;
+
+/**
+ * Contains test functions of {@link MatchDao} class.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@Transactional
+public class MatchDaoTest {
+
+	private static final Long EVENT_ID = 1L; // WC2014
+
+	@Inject
+	private MatchDao matchDao;
+
+	/**
+	 * Test {@link MatchDao#retrieveMatchesByMatchNs(Long, java.util.Collection)} method.
+	 * Scenario: successfully retrieves the existing matches, not existing matchN is ignored
+	 */
+	@Test
+	public void retrieveMatchesByMatchNs() {
+		List<Short> matchNs = List.of((short) 1, (short) 2, (short) 999);
+
+		List<Match> matches = matchDao.retrieveMatchesByMatchNs(EVENT_ID, matchNs);
+
+		assertEquals(2, matches.size());
+		assertTrue(matches.stream().allMatch(e -> e.getEvent().getEventId().equals(EVENT_ID)));
+		assertEquals(Set.of((short) 1, (short) 2), Set.copyOf(matches.stream().map(Match::getMatchN).toList()));
+	}
+
+	/**
+	 * Test {@link MatchDao#retrieveMatchesByMatchNs(Long, java.util.Collection)} method.
+	 * Scenario: throws {@link NullPointerException} because of {@code null} parameter
+	 */
+	@Test(expected = NullPointerException.class)
+	public void retrieveMatchesByMatchNsNull() {
+		matchDao.retrieveMatchesByMatchNs(EVENT_ID, null);
+	}
+}
@@ -0,0 +1,71 @@
+package com.zematix.jworldcup.backend.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Contains test functions of {@link LeaderboardSnapshot} class.
+ */
+public class LeaderboardSnapshotTest {
+
+	/**
+	 * Test {@link LeaderboardSnapshot#LeaderboardSnapshot(Long, LocalDateTime, List)} constructor.
+	 * Scenario: modification of the given user positions does not change the snapshot
+	 */
+	@Test
+	public void leaderboardSnapshotCopiesUserPositions() {
+		List<UserPosition> userPositions = new ArrayList<>(List.of(createUserPosition(2L, 5, 1), createUserPosition(6L, 3, 2)));
+
+		LeaderboardSnapshot leaderboardSnapshot = new LeaderboardSnapshot(1L, LocalDateTime.now(), userPositions);
+		userPositions.get(0).setScore(0);
+		userPositions.remove(1);
+
+		assertEquals(2, leaderboardSnapshot.getUserPositions().size());
+		assertEquals(5, leaderboardSnapshot.getUserPositions().get(0).getScore());
+	}
+
+	/**
+	 * Test {@link LeaderboardSnapshot#getUserPositions()} method.
+	 * Scenario: returned list cannot be modified
+	 */
+	@Test(expected=UnsupportedOperationException.class)
+	public void getUserPositionsUnmodifiable() {
+		LeaderboardSnapshot leaderboardSnapshot = new LeaderboardSnapshot(1L, LocalDateTime.now(), List.of(createUserPosition(2L, 5, 1)));
+
+		leaderboardSnapshot.getUserPositions().remove(0);
+	}
+
+	/**
+	 * Test {@link LeaderboardSnapshot#copyUserPositions()} method.
+	 * Scenario: returned copies can be modified without changing the snapshot
+	 */
+	@Test
+	public void copyUserPositions() {
+		LeaderboardSnapshot leaderboardSnapshot = new LeaderboardSnapshot(1L, LocalDateTime.now(),
+				List.of(createUserPosition(2L, 5, 1), createUserPosition(6L, 3, 2)));
+
+		List<UserPosition> copies = leaderboardSnapshot.copyUserPositions();
+		copies.get(1).setPosition(1);
+		copies.remove(0);
+
+		assertEquals(2, leaderboardSnapshot.getUserPositions().size());
+		assertEquals(2, leaderboardSnapshot.getUserPositions().get(1).getPosition());
+		assertNotSame(leaderboardSnapshot.getUserPositions().get(1), copies.get(0));
+		assertEquals(6L, copies.get(0).getUserId().longValue());
+	}
+
+	private UserPosition createUserPosition(Long userId, int score, int position) {
+		UserPosition userPosition = new UserPosition();
+		userPosition.setUserId(userId);
+		userPosition.setLoginName("user" + userId);
+		userPosition.setScore(score);
+		userPosition.setPosition(position);
+		return userPosition;
+	}
+}
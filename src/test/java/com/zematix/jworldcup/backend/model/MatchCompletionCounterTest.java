@@ -0,0 +1,68 @@
+package com.zematix.jworldcup.backend.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Contains test functions of {@link MatchCompletionCounter} class.
+ */
+public class MatchCompletionCounterTest {
+
+	/**
+	 * Test {@link MatchCompletionCounter#MatchCompletionCounter(int, Collection)} constructor.
+	 * Scenario: modification of the given match ids does not change the counter
+	 */
+	@Test
+	public void matchCompletionCounterCopiesMatchIds() {
+		List<Long> completedMatchIds = new ArrayList<>(List.of(1L, 2L));
+
+		MatchCompletionCounter matchCompletionCounter = new MatchCompletionCounter(4, completedMatchIds);
+		completedMatchIds.add(3L);
+
+		assertEquals(4, matchCompletionCounter.getNumberOfMatches());
+		assertEquals(2, matchCompletionCounter.getNumberOfCompletedMatches());
+		assertEquals(50, matchCompletionCounter.getPercent());
+	}
+
+	/**
+	 * Test {@link MatchCompletionCounter#MatchCompletionCounter(int, Collection)} constructor.
+	 * Scenario: throws IllegalArgumentException because of the negative number of matches
+	 */
+	@Test(expected=IllegalArgumentException.class)
+	public void matchCompletionCounterNegative() {
+		new MatchCompletionCounter(-1, List.of());
+	}
+
+	/**
+	 * Test {@link MatchCompletionCounter#update(Long, boolean)} method.
+	 * Scenario: completed matches are counted once, a match without result is removed
+	 */
+	@Test
+	public void update() {
+		MatchCompletionCounter matchCompletionCounter = new MatchCompletionCounter(3, List.of(1L));
+
+		matchCompletionCounter.update(2L, true);
+		matchCompletionCounter.update(2L, true);
+		assertEquals(2, matchCompletionCounter.getNumberOfCompletedMatches());
+		assertEquals(66, matchCompletionCounter.getPercent());
+
+		matchCompletionCounter.update(1L, false);
+		matchCompletionCounter.update(3L, false);
+		assertEquals(1, matchCompletionCounter.getNumberOfCompletedMatches());
+		assertEquals(33, matchCompletionCounter.getPercent());
+	}
+
+	/**
+	 * Test {@link MatchCompletionCounter#getPercent()} method.
+	 * Scenario: event without matches is not completed at all
+	 */
+	@Test
+	public void getPercentWithoutMatches() {
+		assertEquals(0, new MatchCompletionCounter(0, List.of()).getPercent());
+	}
+}
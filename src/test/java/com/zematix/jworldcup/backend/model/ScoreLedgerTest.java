@@ -0,0 +1,100 @@
+package com.zematix.jworldcup.backend.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Contains test functions of {@link ScoreLedger} class.
+ */
+public class ScoreLedgerTest {
+
+	/**
+	 * Test {@link ScoreLedger#putUser(Long, Map)} method.
+	 * Scenario: total score of the user is the sum of the scores by match
+	 */
+	@Test
+	public void putUser() {
+		ScoreLedger scoreLedger = new ScoreLedger(1L);
+
+		scoreLedger.putUser(2L, createScoresByMatchId(1L, 3, 2L, 1));
+
+		assertTrue(scoreLedger.containsUser(2L));
+		assertEquals(4, scoreLedger.getScore(2L).intValue());
+	}
+
+	/**
+	 * Test {@link ScoreLedger#putUser(Long, Map, long)} method.
+	 * Scenario: a row loaded before a modification of the user is not published,
+	 *           but its total score is returned
+	 */
+	@Test
+	public void putUserWithVersion() {
+		ScoreLedger scoreLedger = new ScoreLedger(1L);
+		long version = scoreLedger.getVersion(2L);
+
+		scoreLedger.removeUser(2L);
+
+		assertEquals(4, scoreLedger.putUser(2L, createScoresByMatchId(1L, 3, 2L, 1), version));
+		assertFalse(scoreLedger.containsUser(2L));
+
+		version = scoreLedger.getVersion(2L);
+		scoreLedger.putScore(6L, 1L, 3); // other user
+		assertEquals(4, scoreLedger.putUser(2L, createScoresByMatchId(1L, 3, 2L, 1), version));
+		assertEquals(4, scoreLedger.getScore(2L).intValue());
+
+		version = scoreLedger.getVersion(2L);
+		scoreLedger.putScore(2L, 1L, 0);
+		scoreLedger.putUser(2L, createScoresByMatchId(1L, 3, 2L, 1), version);
+		assertEquals(1, scoreLedger.getScore(2L).intValue());
+	}
+
+	/**
+	 * Test {@link ScoreLedger#putScore(Long, Long, int)} method.
+	 * Scenario: score of a match is replaced and the total score follows it,
+	 *           a user without loaded row is not loaded by it
+	 */
+	@Test
+	public void putScore() {
+		ScoreLedger scoreLedger = new ScoreLedger(1L);
+		scoreLedger.putUser(2L, createScoresByMatchId(1L, 3, 2L, 1));
+
+		scoreLedger.putScore(2L, 2L, 0);
+		scoreLedger.putScore(2L, 3L, 2);
+		scoreLedger.putScore(6L, 1L, 3);
+
+		assertEquals(5, scoreLedger.getScore(2L).intValue());
+		assertFalse(scoreLedger.containsUser(6L));
+		assertNull(scoreLedger.getScore(6L));
+	}
+
+	/**
+	 * Test {@link ScoreLedger#removeUser(Long)} method.
+	 * Scenario: removed row is missing, the other rows are kept
+	 */
+	@Test
+	public void removeUser() {
+		ScoreLedger scoreLedger = new ScoreLedger(1L);
+		scoreLedger.putUser(2L, createScoresByMatchId(1L, 3, 2L, 1));
+		scoreLedger.putUser(6L, createScoresByMatchId(1L, 1, 2L, 0));
+
+		scoreLedger.removeUser(2L);
+
+		assertNull(scoreLedger.getScore(2L));
+		assertEquals(1, scoreLedger.getScore(6L).intValue());
+		assertEquals(1, scoreLedger.getUserIds().size());
+	}
+
+	private Map<Long, Integer> createScoresByMatchId(Long matchId1, int score1, Long matchId2, int score2) {
+		Map<Long, Integer> scoresByMatchId = new HashMap<>();
+		scoresByMatchId.put(matchId1, score1);
+		scoresByMatchId.put(matchId2, score2);
+		return scoresByMatchId;
+	}
+}
@@ -0,0 +1,67 @@
+package com.zematix.jworldcup.backend.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Contains test functions of {@link TournamentBracket} class.
+ */
+public class TournamentBracketTest {
+
+	/**
+	 * Test {@link TournamentBracket#getChildMatchNs(Short)} method.
+	 * Scenario: winners and losers of parent matches are the edges of the bracket
+	 */
+	@Test
+	public void getChildMatchNs() {
+		Map<Short, Pair<GroupPosition>> groupPositionPairsByMatchN = new HashMap<>();
+		groupPositionPairsByMatchN.put((short) 49, createGroupPositionPair("A", 1, "B", 2));
+		groupPositionPairsByMatchN.put((short) 50, createGroupPositionPair("C", 1, "D", 2));
+		groupPositionPairsByMatchN.put((short) 61, createGroupPositionPair("W", 49, "W", 50));
+		groupPositionPairsByMatchN.put((short) 63, createGroupPositionPair("L", 61, "L", 62));
+		TournamentBracket tournamentBracket = new TournamentBracket(1L, groupPositionPairsByMatchN);
+
+		assertEquals(Arrays.asList((short) 61), tournamentBracket.getChildMatchNs((short) 49));
+		assertEquals(Arrays.asList((short) 63), tournamentBracket.getChildMatchNs((short) 61));
+		assertTrue(tournamentBracket.getChildMatchNs((short) 63).isEmpty());
+		assertTrue(tournamentBracket.isKnockoutRule((short) 61));
+		assertFalse(tournamentBracket.isKnockoutRule((short) 49));
+		assertEquals(4, tournamentBracket.getKnockoutGroupPositions().size());
+	}
+
+	/**
+	 * Test {@link TournamentBracket} constructor.
+	 * Scenario: group "L" of a 48 team event, e.g. "L1-EHIJK3", is not mistaken for
+	 *           the loser of a match, it is not an edge of the bracket
+	 */
+	@Test
+	public void groupL() {
+		Map<Short, Pair<GroupPosition>> groupPositionPairsByMatchN = new HashMap<>();
+		groupPositionPairsByMatchN.put((short) 73, createGroupPositionPair("L", 1, "EHIJK", 3));
+		groupPositionPairsByMatchN.put((short) 74, createGroupPositionPair("K", 2, "L", 2));
+		groupPositionPairsByMatchN.put((short) 89, createGroupPositionPair("W", 73, "W", 74));
+		TournamentBracket tournamentBracket = new TournamentBracket(1L, groupPositionPairsByMatchN);
+
+		assertTrue(tournamentBracket.getChildMatchNs((short) 1).isEmpty());
+		assertTrue(tournamentBracket.getChildMatchNs((short) 2).isEmpty());
+		assertFalse(tournamentBracket.isKnockoutRule((short) 73));
+		assertFalse(tournamentBracket.isKnockoutRule((short) 74));
+		assertTrue(tournamentBracket.isKnockoutRule((short) 89));
+		assertEquals(Arrays.asList((short) 89), tournamentBracket.getChildMatchNs((short) 73));
+		assertEquals(new HashSet<>(Arrays.asList(new GroupPosition("W", 73), new GroupPosition("W", 74))),
+				tournamentBracket.getKnockoutGroupPositions());
+		assertEquals(Arrays.asList("E", "H", "I", "J", "K", "L"), tournamentBracket.getGroupNames((short) 73));
+	}
+
+	private Pair<GroupPosition> createGroupPositionPair(String groupName1, int position1, String groupName2, int position2) {
+		return new Pair<>(new GroupPosition(groupName1, position1), new GroupPosition(groupName2, position2));
+	}
+}
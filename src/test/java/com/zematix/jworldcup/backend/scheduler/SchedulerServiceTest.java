@@ -1,5 +1,12 @@
 package com.zematix.jworldcup.backend.scheduler;
 
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -7,11 +14,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.exception.ServiceException;
 import com.zematix.jworldcup.backend.service.ApplicationService;
 import com.zematix.jworldcup.backend.service.MatchService;
 import com.zematix.jworldcup.backend.service.UserService;
 import com.zematix.jworldcup.backend.service.WebServiceService;
 
+import jakarta.inject.Inject;
+
 /**
  * Contains test functions of {@link SchedulerService} class.
  */
@@ -21,8 +32,8 @@ import com.zematix.jworldcup.backend.service.WebServiceService;
 //@Transactional
 public class SchedulerServiceTest {
 
-//	@Inject
-//	private SchedulerService schedulerService;
+	@Inject
+	private SchedulerService schedulerService;
 	
 	@MockitoBean
 	private ApplicationService applicationService;
@@ -52,4 +63,37 @@ public class SchedulerServiceTest {
 	public void todo() { // TODO
 		
 	}
+
+	/**
+	 * Test {@link SchedulerService#retrieveMatchResultsJob(Long, Long)} method.
+	 * Scenario: after the last match results are retrieved the top users of the event
+	 *           are invalidated and the overall top users are refreshed
+	 */
+	@Test
+	public void retrieveMatchResultsJobCompletingEvent() throws ServiceException {
+		Long eventId = 1L;
+		when(webServiceService.updateMatchResults(eventId)).thenReturn(List.of(new Match()));
+		when(applicationService.getEventCompletionPercentCache(eventId)).thenReturn(100);
+
+		schedulerService.retrieveMatchResultsJob(eventId, /*firstIncompleteMatchId*/ 64L);
+
+		verify(applicationService).refreshEventCompletionPercentCache(eventId);
+		verify(applicationService).invalidateTopUsersByEventCache(eventId);
+		verify(applicationService).refreshTopUsersCache();
+	}
+
+	/**
+	 * Test {@link SchedulerService#retrieveMatchResultsJob(Long, Long)} method.
+	 * Scenario: no match result is retrieved, so the top users are not touched
+	 */
+	@Test
+	public void retrieveMatchResultsJobWithoutResults() throws ServiceException {
+		Long eventId = 1L;
+		when(webServiceService.updateMatchResults(eventId)).thenReturn(List.of());
+
+		schedulerService.retrieveMatchResultsJob(eventId, /*firstIncompleteMatchId*/ 64L);
+
+		verify(applicationService, never()).invalidateTopUsersByEventCache(anyLong());
+		verify(applicationService, never()).refreshTopUsersCache();
+	}
 }
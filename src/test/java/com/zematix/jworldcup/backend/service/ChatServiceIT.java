@@ -0,0 +1,82 @@
+package com.zematix.jworldcup.backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.configuration.CachingConfig;
+import com.zematix.jworldcup.backend.dao.CommonDao;
+import com.zematix.jworldcup.backend.entity.Chat;
+import com.zematix.jworldcup.backend.entity.Event;
+import com.zematix.jworldcup.backend.entity.User;
+import com.zematix.jworldcup.backend.entity.UserGroup;
+import com.zematix.jworldcup.backend.exception.ServiceException;
+
+import jakarta.inject.Inject;
+
+/**
+ * Contains test functions of {@link ChatService} class.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@Transactional
+public class ChatServiceIT {
+
+	private static final Long EVENT_ID = 1L; // WC2014
+
+	private static final Long USER_ID = 2L; // normal
+
+	@Inject
+	private ChatService chatService;
+
+	@Inject
+	private ApplicationService applicationService;
+
+	@Inject
+	private UserGroupService userGroupService;
+
+	@Inject
+	private CommonDao commonDao;
+
+	@MockitoBean
+	private MessageQueueService messageQueueService; // no message broker in tests
+
+	@After
+	public void invalidateChatsByUserGroupCache() {
+		// database modifications of the tests are rolled back
+		applicationService.getCachesByName().get(CachingConfig.CACHE_CHATS_BY_USER_GROUP).invalidateAll();
+	}
+
+	/**
+	 * Test {@link ChatService#sendChat(Chat)} method.
+	 * Scenario: the cached chats of the userGroup contain the sent chat before the
+	 *           transaction is committed
+	 */
+	@Test
+	public void sendChat() throws ServiceException {
+		UserGroup userGroup = userGroupService.createVirtualEverybodyUserGroup(EVENT_ID, USER_ID);
+		int numberOfChats = applicationService.getChatsByUserGroupCache(EVENT_ID, userGroup.getUserGroupId()).size();
+
+		Chat chat = new Chat();
+		chat.setEvent(commonDao.findEntityById(Event.class, EVENT_ID));
+		chat.setUser(commonDao.findEntityById(User.class, USER_ID));
+		chat.setUserGroup(userGroup);
+		chat.setMessage("Hello Everybody");
+		chatService.sendChat(chat);
+
+		List<Chat> chats = applicationService.getChatsByUserGroupCache(EVENT_ID, userGroup.getUserGroupId());
+		assertEquals(numberOfChats + 1, chats.size());
+		assertTrue(chats.stream().anyMatch(e -> e.getChatId().equals(chat.getChatId())));
+	}
+}
@@ -0,0 +1,148 @@
+package com.zematix.jworldcup.backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.dao.CommonDao;
+import com.zematix.jworldcup.backend.entity.Group;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.entity.Team;
+import com.zematix.jworldcup.backend.exception.ServiceException;
+import com.zematix.jworldcup.backend.model.GroupTeam;
+
+import jakarta.inject.Inject;
+
+/**
+ * Contains test functions of {@link GroupService} class. The group standings cache is
+ * enabled, its results are compared to the standings calculated without it.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@TestPropertySource(properties = "app.group.standings.cache.enabled=true")
+@Transactional
+public class GroupServiceIT {
+
+	private static final Long EVENT_ID = 1L; // WC2014
+
+	private static final Long GROUP_ID = 1L; // A
+
+	private static final Long MATCH_ID = 1L; // BRA-CRO 3-1 of group A
+
+	@Inject
+	private GroupService groupService;
+
+	@Inject
+	private GroupTeamService groupTeamService;
+
+	@Inject
+	private MatchService matchService;
+
+	@Inject
+	private CommonDao commonDao;
+
+	@After
+	public void invalidateRankedGroupTeams() {
+		// database modifications of the tests are rolled back
+		groupService.invalidateRankedGroupTeamsByMatch(MATCH_ID);
+	}
+
+	/**
+	 * Test {@link GroupService#getRankedGroupTeamsByGroup(Long)} and
+	 * {@link GroupService#getRankedGroupTeamsByEvent(Long)} methods.
+	 * Scenario: cached standings are the same as the calculated ones
+	 */
+	@Test
+	public void getRankedGroupTeams() throws ServiceException {
+		assertTrue(groupService.isGroupStandingsCacheEnabled());
+
+		List<GroupTeam> rankedGroupTeams = groupService.getRankedGroupTeamsByGroup(GROUP_ID);
+		List<GroupTeam> cachedGroupTeams = groupService.getRankedGroupTeamsByGroup(GROUP_ID);
+
+		assertSame(rankedGroupTeams.get(0).getPlayedMatches(), cachedGroupTeams.get(0).getPlayedMatches());
+		assertGroupTeams(rankGroupTeams(GROUP_ID), cachedGroupTeams);
+		assertGroupTeams(rankGroupTeams(GROUP_ID), groupService.getRankedGroupTeamsByEvent(EVENT_ID).stream()
+				.filter(e -> e.getTeam().getGroup().getGroupId().equals(GROUP_ID)).toList());
+	}
+
+	/**
+	 * Test {@link GroupService#invalidateRankedGroupTeamsByMatch(Long)} method.
+	 * Scenario: after a modified match result the standings of its group are calculated again
+	 */
+	@Test
+	public void invalidateRankedGroupTeamsByMatch() throws ServiceException {
+		List<GroupTeam> rankedGroupTeams = groupService.getRankedGroupTeamsByGroup(GROUP_ID);
+
+		Match match = commonDao.findEntityById(Match.class, MATCH_ID);
+		match.setGoalNormalByTeam1((byte) 1);
+		match.setGoalNormalByTeam2((byte) 3);
+		commonDao.flushEntityManager();
+		groupService.invalidateRankedGroupTeamsByMatch(MATCH_ID);
+
+		List<GroupTeam> invalidatedGroupTeams = groupService.getRankedGroupTeamsByGroup(GROUP_ID);
+		assertNotSame(rankedGroupTeams.get(0).getPlayedMatches(), invalidatedGroupTeams.get(0).getPlayedMatches());
+		assertGroupTeams(rankGroupTeams(GROUP_ID), invalidatedGroupTeams);
+		assertEquals(match.getTeam2().getTeamId(), invalidatedGroupTeams.get(0).getTeam().getTeamId());
+	}
+
+	/**
+	 * Test {@link MatchService#saveMatch(Long, boolean, Boolean, java.time.LocalDateTime, Byte, Byte, Byte, Byte, Byte, Byte)} method.
+	 * Scenario: the standings of the group of the saved match are calculated again at once,
+	 *           before the transaction is committed
+	 */
+	@Test
+	public void saveMatchInvalidatesRankedGroupTeams() throws ServiceException {
+		List<GroupTeam> rankedGroupTeams = groupService.getRankedGroupTeamsByGroup(GROUP_ID);
+
+		Match match = commonDao.findEntityById(Match.class, MATCH_ID);
+		matchService.saveMatch(MATCH_ID, true, null, match.getStartTime(), (byte) 1, (byte) 3, null, null, null, null);
+
+		List<GroupTeam> savedGroupTeams = groupService.getRankedGroupTeamsByGroup(GROUP_ID);
+		assertNotSame(rankedGroupTeams.get(0).getPlayedMatches(), savedGroupTeams.get(0).getPlayedMatches());
+		assertGroupTeams(rankGroupTeams(GROUP_ID), savedGroupTeams);
+		assertEquals(match.getTeam2().getTeamId(), savedGroupTeams.get(0).getTeam().getTeamId());
+	}
+
+	/**
+	 * Calculates the ranked teams of the given group, the standings cache is not used.
+	 */
+	private List<GroupTeam> rankGroupTeams(Long groupId) throws ServiceException {
+		Group group = commonDao.findEntityById(Group.class, groupId);
+		List<GroupTeam> groupTeams = new ArrayList<>();
+		for (Team team : group.getTeams()) {
+			groupTeams.add(new GroupTeam(team, matchService.retrieveFinishedGroupMatchesByTeam(team.getTeamId())));
+		}
+		groupTeamService.sortGroupTeams(groupTeams);
+		return groupTeams;
+	}
+
+	/**
+	 * Asserts that the given lists contain the same teams in the same order with the same statistics.
+	 */
+	private void assertGroupTeams(List<GroupTeam> expectedGroupTeams, List<GroupTeam> groupTeams) {
+		assertEquals(expectedGroupTeams.size(), groupTeams.size());
+		for (int i = 0; i < expectedGroupTeams.size(); i++) {
+			GroupTeam expected = expectedGroupTeams.get(i);
+			GroupTeam groupTeam = groupTeams.get(i);
+			assertEquals(expected.getTeam().getTeamId(), groupTeam.getTeam().getTeamId());
+			assertEquals(expected.getPositionInGroup(), groupTeam.getPositionInGroup());
+			assertEquals(expected.getPoints(), groupTeam.getPoints());
+			assertEquals(expected.getGoalDifference(), groupTeam.getGoalDifference());
+			assertEquals(expected.getMatchesPlayed(), groupTeam.getMatchesPlayed());
+		}
+	}
+}
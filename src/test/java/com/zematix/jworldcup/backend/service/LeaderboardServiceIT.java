@@ -0,0 +1,131 @@
+package com.zematix.jworldcup.backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.dao.CommonDao;
+import com.zematix.jworldcup.backend.entity.Bet;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.entity.UserGroup;
+import com.zematix.jworldcup.backend.exception.ServiceException;
+import com.zematix.jworldcup.backend.model.LeaderboardSnapshot;
+import com.zematix.jworldcup.backend.model.UserPosition;
+
+import jakarta.inject.Inject;
+
+/**
+ * Contains test functions of {@link LeaderboardService} class. The leaderboard snapshot
+ * and the score ledger it is built from are enabled, its results are compared to the
+ * scores calculated from the bets without them.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@TestPropertySource(properties = { "app.leaderboard.snapshot.enabled=true", "app.score.ledger.enabled=true" })
+@Transactional
+@Sql(scripts = { "/database/service/leaderboard-before.sql" }, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = { "/database/service/leaderboard-after.sql" }, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+public class LeaderboardServiceIT {
+
+	private static final Long EVENT_ID = 1L; // WC2014
+
+	private static final Long USER_GROUP_ID = 1L; // Zematix
+
+	@Inject
+	private LeaderboardService leaderboardService;
+
+	@Inject
+	private ScoreLedgerService scoreLedgerService;
+
+	@Inject
+	private BetService betService;
+
+	@Inject
+	private CommonDao commonDao;
+
+	@After
+	public void evictLeaderboardSnapshot() {
+		// database modifications of the tests are rolled back
+		leaderboardService.evictLeaderboardSnapshot(EVENT_ID);
+		scoreLedgerService.evictScoreLedger(EVENT_ID);
+	}
+
+	/**
+	 * Test {@link LeaderboardService#retrieveUserPositionsBySnapshot(Long, Long)} method.
+	 * Scenario: user positions of the Everybody and of a real userGroup contain the scores
+	 *           of the bets and they are ranked by them
+	 */
+	@Test
+	public void retrieveUserPositionsBySnapshot() throws ServiceException {
+		assertTrue(leaderboardService.isLeaderboardSnapshotEnabled());
+		assertTrue(scoreLedgerService.isScoreLedgerEnabled());
+
+		List<UserPosition> userPositions = leaderboardService.retrieveUserPositionsBySnapshot(EVENT_ID, UserGroup.EVERYBODY_USER_GROUP_ID);
+		assertTrue(userPositions.stream().anyMatch(e -> e.getUserId() == 6L));
+		assertUserPositions(userPositions);
+
+		userPositions = leaderboardService.retrieveUserPositionsBySnapshot(EVENT_ID, USER_GROUP_ID);
+		assertEquals(List.of(2L, 6L), userPositions.stream().map(UserPosition::getUserId).sorted().toList());
+		assertUserPositions(userPositions);
+	}
+
+	/**
+	 * Test {@link LeaderboardService#rebuildLeaderboardSnapshot(Long)} method.
+	 * Scenario: after a modified match result the rebuilt snapshot contains the new scores
+	 *           of the updated score ledger
+	 */
+	@Test
+	public void rebuildLeaderboardSnapshot() throws ServiceException {
+		Long matchId = 2L; // 1-0 is modified to 2-1
+		LeaderboardSnapshot leaderboardSnapshot = leaderboardService.retrieveLeaderboardSnapshot(EVENT_ID);
+		assertSame(leaderboardSnapshot, leaderboardService.retrieveLeaderboardSnapshot(EVENT_ID));
+
+		Match match = commonDao.findEntityById(Match.class, matchId);
+		match.setGoalNormalByTeam1((byte) 2);
+		match.setGoalNormalByTeam2((byte) 1);
+		commonDao.flushEntityManager();
+		scoreLedgerService.onUpdateMatchEvent(match); // as MatchService does before the rebuild
+		leaderboardService.rebuildLeaderboardSnapshot(EVENT_ID);
+
+		assertNotSame(leaderboardSnapshot, leaderboardService.retrieveLeaderboardSnapshot(EVENT_ID));
+		assertUserPositions(leaderboardService.retrieveUserPositionsBySnapshot(EVENT_ID, UserGroup.EVERYBODY_USER_GROUP_ID));
+		assertUserPositions(leaderboardService.retrieveUserPositionsBySnapshot(EVENT_ID, USER_GROUP_ID));
+	}
+
+	/**
+	 * Asserts that the given sorted user positions contain the scores calculated from
+	 * the bets, the snapshot is not used, and that their positions are ranked by them.
+	 */
+	private void assertUserPositions(List<UserPosition> userPositions) throws ServiceException {
+		for (UserPosition userPosition : userPositions) {
+			assertEquals(retrieveScore(userPosition.getUserId()), userPosition.getScore());
+			long higherScoreCount = userPositions.stream().filter(e -> e.getScore() > userPosition.getScore()).count();
+			assertEquals(higherScoreCount + 1, userPosition.getPosition());
+		}
+		for (int i = 1; i < userPositions.size(); i++) {
+			assertTrue(userPositions.get(i - 1).getScore() >= userPositions.get(i).getScore());
+		}
+	}
+
+	/**
+	 * Calculates the total score of the given user from the bets, the ledger is not used.
+	 */
+	private int retrieveScore(Long userId) throws ServiceException {
+		return betService.retrieveBetsByEventAndUser(EVENT_ID, userId).stream().mapToInt(Bet::getScore).sum();
+	}
+}
@@ -0,0 +1,96 @@
+package com.zematix.jworldcup.backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.dao.CommonDao;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.exception.ServiceException;
+
+import jakarta.inject.Inject;
+
+/**
+ * Contains test functions of {@link MatchService} class. The match completion counter
+ * is enabled, its results are compared to the percent calculated from the matches without it.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@TestPropertySource(properties = "app.match.completion.counter.enabled=true")
+@Transactional
+public class MatchServiceIT {
+
+	private static final Long EVENT_ID = 1L; // WC2014
+
+	private static final Long MATCH_ID = 1L; // BRA-CRO 3-1 of group A
+
+	@Inject
+	private MatchService matchService;
+
+	@Inject
+	private CommonDao commonDao;
+
+	@After
+	public void invalidateMatchCompletionCounter() {
+		// database modifications of the tests are rolled back
+		matchService.invalidateMatchCompletionCounter(EVENT_ID);
+	}
+
+	/**
+	 * Test {@link MatchService#retriveMatchesAccomplishedInPercent(Long)} method.
+	 * Scenario: percent of the counter is the same as the calculated one
+	 */
+	@Test
+	public void retriveMatchesAccomplishedInPercent() throws ServiceException {
+		assertTrue(matchService.isMatchCompletionCounterEnabled());
+
+		assertEquals(calculateMatchesAccomplishedInPercent(EVENT_ID), matchService.retriveMatchesAccomplishedInPercent(EVENT_ID));
+		assertEquals(calculateMatchesAccomplishedInPercent(EVENT_ID), matchService.retriveMatchesAccomplishedInPercent(EVENT_ID));
+	}
+
+	/**
+	 * Test {@link MatchService#invalidateMatchCompletionCounter(Long)} method.
+	 * Scenario: after a match result is removed bypassing the service the counter is stale
+	 *           until it is invalidated, then it is loaded again
+	 */
+	@Test
+	public void invalidateMatchCompletionCounterByRemovedResult() throws ServiceException {
+		int percent = matchService.retriveMatchesAccomplishedInPercent(EVENT_ID);
+
+		Match match = commonDao.findEntityById(Match.class, MATCH_ID);
+		match.setGoalNormalByTeam1(null);
+		match.setGoalNormalByTeam2(null);
+		commonDao.flushEntityManager();
+		assertEquals(percent, matchService.retriveMatchesAccomplishedInPercent(EVENT_ID));
+
+		matchService.invalidateMatchCompletionCounter(EVENT_ID);
+
+		int invalidatedPercent = matchService.retriveMatchesAccomplishedInPercent(EVENT_ID);
+		assertEquals(calculateMatchesAccomplishedInPercent(EVENT_ID), invalidatedPercent);
+		assertTrue(invalidatedPercent <= percent);
+	}
+
+	/**
+	 * Calculates the percent of the completed matches of the given event, the match
+	 * completion counter is not used.
+	 */
+	private int calculateMatchesAccomplishedInPercent(Long eventId) throws ServiceException {
+		List<Match> matches = matchService.retrieveMatchesByEvent(eventId);
+		if (matches.isEmpty()) {
+			return 0;
+		}
+		List<Match> incompleteMatches = matchService.retrieveIncompleteMatchesByEvent(eventId);
+		return (matches.size() - incompleteMatches.size()) * 100 / matches.size();
+	}
+}
@@ -0,0 +1,122 @@
+package com.zematix.jworldcup.backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.dao.CommonDao;
+import com.zematix.jworldcup.backend.entity.Bet;
+import com.zematix.jworldcup.backend.entity.Match;
+import com.zematix.jworldcup.backend.exception.ServiceException;
+import com.zematix.jworldcup.backend.model.PublishedEvent;
+
+import jakarta.inject.Inject;
+
+/**
+ * Contains test functions of {@link ScoreLedgerService} class. The score ledger is enabled,
+ * its results are compared to the scores calculated from the bets without it.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@TestPropertySource(properties = "app.score.ledger.enabled=true")
+@Transactional
+@Sql(scripts = { "/database/service/leaderboard-before.sql" }, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = { "/database/service/leaderboard-after.sql" }, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+public class ScoreLedgerServiceIT {
+
+	private static final Long EVENT_ID = 1L; // WC2014
+
+	private static final List<Long> USER_IDS = List.of(2L, 6L); // normal, normal2
+
+	@Inject
+	private ScoreLedgerService scoreLedgerService;
+
+	@Inject
+	private BetService betService;
+
+	@Inject
+	private CommonDao commonDao;
+
+	@After
+	public void evictScoreLedger() {
+		// database modifications of the tests are rolled back
+		scoreLedgerService.evictScoreLedger(EVENT_ID);
+	}
+
+	/**
+	 * Test {@link ScoreLedgerService#retrieveScoreByEventAndUser(Long, Long)} method.
+	 * Scenario: scores from the ledger are the same as the scores of the bets
+	 */
+	@Test
+	public void retrieveScoreByEventAndUser() throws ServiceException {
+		assertTrue(scoreLedgerService.isScoreLedgerEnabled());
+
+		for (Long userId : USER_IDS) {
+			assertEquals(retrieveScore(userId), scoreLedgerService.retrieveScoreByEventAndUser(EVENT_ID, userId));
+			assertEquals(retrieveScore(userId), betService.retrieveScoreByEventAndUser(EVENT_ID, userId));
+		}
+	}
+
+	/**
+	 * Test {@link ScoreLedgerService#retrieveScoresByEventAndUsers(Long, java.util.Collection)} method.
+	 * Scenario: scores from the ledger are the same as the scores of the bets, also the
+	 *           evicted row of a user is loaded again
+	 */
+	@Test
+	public void retrieveScoresByEventAndUsers() throws ServiceException {
+		Map<Long, Integer> scoresByUserId = scoreLedgerService.retrieveScoresByEventAndUsers(EVENT_ID, USER_IDS);
+		assertEquals(USER_IDS.size(), scoresByUserId.size());
+		for (Long userId : USER_IDS) {
+			assertEquals(retrieveScore(userId), scoresByUserId.get(userId).intValue());
+		}
+
+		Bet bet = betService.retrieveBetsByEventAndUser(EVENT_ID, USER_IDS.get(0)).get(0);
+		scoreLedgerService.onUpdateBetEvent(new PublishedEvent<>(bet));
+
+		scoresByUserId = scoreLedgerService.retrieveScoresByEventAndUsers(EVENT_ID, USER_IDS);
+		for (Long userId : USER_IDS) {
+			assertEquals(retrieveScore(userId), scoresByUserId.get(userId).intValue());
+		}
+	}
+
+	/**
+	 * Test {@link ScoreLedgerService#onUpdateMatchEvent(Match)} method.
+	 * Scenario: after a modified match result the loaded ledger contains the new scores
+	 */
+	@Test
+	public void onUpdateMatchEvent() throws ServiceException {
+		Long matchId = 2L; // 1-0 is modified to 2-1
+		USER_IDS.forEach(userId -> scoreLedgerService.retrieveScoreByEventAndUser(EVENT_ID, userId)); // loads the ledger
+
+		Match match = commonDao.findEntityById(Match.class, matchId);
+		match.setGoalNormalByTeam1((byte) 2);
+		match.setGoalNormalByTeam2((byte) 1);
+		commonDao.flushEntityManager();
+		scoreLedgerService.onUpdateMatchEvent(match);
+
+		for (Long userId : USER_IDS) {
+			assertEquals(retrieveScore(userId), scoreLedgerService.retrieveScoreByEventAndUser(EVENT_ID, userId));
+		}
+	}
+
+	/**
+	 * Calculates the total score of the given user from the bets, the ledger is not used.
+	 */
+	private int retrieveScore(Long userId) throws ServiceException {
+		return betService.retrieveBetsByEventAndUser(EVENT_ID, userId).stream().mapToInt(Bet::getScore).sum();
+	}
+}
@@ -0,0 +1,140 @@
+package com.zematix.jworldcup.backend.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zematix.jworldcup.backend.configuration.CachingConfig;
+import com.zematix.jworldcup.backend.dao.CommonDao;
+import com.zematix.jworldcup.backend.emun.SessionDataModificationFlag;
+import com.zematix.jworldcup.backend.emun.SessionDataOperationFlag;
+import com.zematix.jworldcup.backend.entity.Event;
+import com.zematix.jworldcup.backend.model.SessionData;
+
+import jakarta.inject.Inject;
+
+/**
+ * Contains test functions of the {@link SessionDataOperationFlag#SERVER_DELTA} protocol
+ * of {@link SessionService} class. The session of user normal has userGroups Everybody
+ * and Zematix, the latter one has member normal2 who never logs in.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles({"develop", "test"})
+@Transactional
+@Sql(scripts = { "/database/service/leaderboard-before.sql" }, executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = { "/database/service/leaderboard-after.sql" }, executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+public class SessionServiceIT {
+
+	private static final Long EVENT_ID = 1L; // WC2014
+
+	private static final String MEMBER_LOGIN_NAME = "normal2";
+
+	private static final String NON_MEMBER_LOGIN_NAME = "nobody";
+
+	@Inject
+	private SessionService sessionService;
+
+	@Inject
+	private ApplicationService applicationService;
+
+	@Inject
+	private CacheManager cacheManager;
+
+	@Inject
+	private CommonDao commonDao;
+
+	@After
+	public void evictCaches() {
+		// database modifications of the tests are rolled back
+		cacheManager.getCache(CachingConfig.CACHE_USER_GROUPS).evict(createUserGroupsKey());
+		applicationService.getLastAppearancebyUserCache().invalidate(MEMBER_LOGIN_NAME);
+		applicationService.getLastAppearancebyUserCache().invalidate(NON_MEMBER_LOGIN_NAME);
+	}
+
+	/**
+	 * Test {@link SessionService#createSessionDataDelta()} method.
+	 * Scenario: after the membership of the userGroups has changed, the next delta contains
+	 *           the userGroups, the following one does not
+	 */
+	@Test
+	@WithMockUser(username = "normal", roles = {"USER"})
+	public void createSessionDataDeltaByMembership() {
+		SessionData sessionData = initSession();
+
+		cacheManager.getCache(CachingConfig.CACHE_USER_GROUPS).evict(createUserGroupsKey());
+		SessionData delta = sessionService.createSessionDataDelta();
+
+		assertUserGroupsDelta(sessionData, delta);
+		assertNull(sessionService.createSessionDataDelta());
+	}
+
+	/**
+	 * Test {@link SessionService#createSessionDataDelta()} method.
+	 * Scenario: appearance of a user who is not a member of the userGroups does not produce
+	 *           a delta, appearance of a member produces one containing the userGroups
+	 */
+	@Test
+	@WithMockUser(username = "normal", roles = {"USER"})
+	public void createSessionDataDeltaByPresence() {
+		SessionData sessionData = initSession();
+
+		applicationService.refreshLastAppearanceByUserCache(NON_MEMBER_LOGIN_NAME);
+		assertNull(sessionService.createSessionDataDelta());
+
+		applicationService.refreshLastAppearanceByUserCache(MEMBER_LOGIN_NAME);
+		SessionData delta = sessionService.createSessionDataDelta();
+
+		assertUserGroupsDelta(sessionData, delta);
+		assertNull(sessionService.createSessionDataDelta());
+	}
+
+	/**
+	 * Initializes the session on WC2014 event like the first call of the client and drops
+	 * its header messages.
+	 *
+	 * @return sessionData sent to the client
+	 */
+	private SessionData initSession() {
+		SessionData sessionDataClient = new SessionData(null);
+		sessionDataClient.setEvent(commonDao.findEntityById(Event.class, EVENT_ID));
+		SessionData sessionData = sessionService.refreshSessionData(sessionDataClient);
+		sessionService.getHeaderMessages().clear();
+		assertEquals(2, sessionData.getUserGroups().size());
+		assertNull(sessionService.createSessionDataDelta()); // nothing has changed since
+		return sessionData;
+	}
+
+	private void assertUserGroupsDelta(SessionData sessionData, SessionData delta) {
+		assertNotNull(delta);
+		assertEquals(SessionDataOperationFlag.SERVER_DELTA, delta.getOperationFlag());
+		assertTrue(delta.getModificationSet().contains(SessionDataModificationFlag.USER_GROUPS));
+		assertEquals(sessionData.getUserGroups().size(), delta.getUserGroups().size());
+		assertNotEquals(sessionData.getFingerprints().get(SessionDataModificationFlag.USER_GROUPS),
+				delta.getFingerprints().get(SessionDataModificationFlag.USER_GROUPS));
+	}
+
+	/**
+	 * @return same key as of {@link UserGroupService#retrieveUserGroups(Long, Long, boolean)}
+	 *         belongs to the session
+	 */
+	private List<Object> createUserGroupsKey() {
+		return List.of(EVENT_ID, sessionService.getUser().getUserId(), true);
+	}
+}
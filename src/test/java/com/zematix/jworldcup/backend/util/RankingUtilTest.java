@@ -0,0 +1,62 @@
+package com.zematix.jworldcup.backend.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.zematix.jworldcup.backend.model.UserPosition;
+
+/**
+ * Contains test functions of {@link RankingUtil} class.
+ */
+public class RankingUtilTest {
+
+	private static final Comparator<UserPosition> COMPARATOR = (a, b) -> -1*Integer.valueOf(a.getScore()).compareTo(b.getScore());
+
+	/**
+	 * Test {@link RankingUtil#sortAndRank(List, Comparator, java.util.function.ObjIntConsumer)} method.
+	 * Scenario: equal scores share the same position, the next one gets its index as position
+	 * and the original order of equal elements is kept
+	 */
+	@Test
+	public void sortAndRank() {
+		List<UserPosition> userPositions = new ArrayList<>(Arrays.asList(
+				createUserPosition(1L, 3), createUserPosition(2L, 5), createUserPosition(3L, 3),
+				createUserPosition(4L, 0), createUserPosition(5L, 5)));
+
+		RankingUtil.sortAndRank(userPositions, COMPARATOR, UserPosition::setPosition);
+
+		long[] expectedUserIds = {2L, 5L, 1L, 3L, 4L};
+		int[] expectedPositions = {1, 1, 3, 3, 5};
+		for (int i = 0; i < userPositions.size(); i++) {
+			assertEquals(expectedUserIds[i], userPositions.get(i).getUserId().longValue());
+			assertEquals(expectedPositions[i], userPositions.get(i).getPosition());
+		}
+	}
+
+	/**
+	 * Test {@link RankingUtil#rank(List, Comparator, java.util.function.ObjIntConsumer)} method.
+	 * Scenario: empty list is accepted
+	 */
+	@Test
+	public void rankEmpty() {
+		List<UserPosition> userPositions = new ArrayList<>();
+
+		RankingUtil.rank(userPositions, COMPARATOR, UserPosition::setPosition);
+
+		assertTrue(userPositions.isEmpty());
+	}
+
+	private UserPosition createUserPosition(Long userId, int score) {
+		UserPosition userPosition = new UserPosition();
+		userPosition.setUserId(userId);
+		userPosition.setScore(score);
+		return userPosition;
+	}
+}
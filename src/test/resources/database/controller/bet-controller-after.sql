@@ -8,5 +8,5 @@ DELETE FROM user_group WHERE user_group_id=1;
 -- saveExistingBet
 DELETE FROM bet WHERE bet_id=2;
 
--- saveBet
-DELETE FROM bet WHERE bet_id=3;
\ No newline at end of file
+-- saveBet, retrieveBetsByEventAndUserStatementCount
+DELETE FROM bet WHERE user_id=2 AND match_id=2;
\ No newline at end of file
@@ -0,0 +1,8 @@
+DELETE FROM bet WHERE bet_id in (11, 12, 13, 14, 15, 16);
+DELETE FROM user_of_event WHERE user_of_event_id in (11);
+
+DELETE FROM user__user_group WHERE user_group_id in (1);
+DELETE FROM user_group WHERE user_group_id in (1);
+
+DELETE FROM user__role WHERE user_id in (6);
+DELETE FROM user WHERE user_id in (6);